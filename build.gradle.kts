@@ -23,11 +23,10 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
-    implementation("org.reflections:reflections:0.10.2")
     implementation("com.github.vpa-research:libsl-parser:tr-v0.1")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     implementation("io.swagger.core.v3:swagger-core:2.2.27")
-    compileOnly("org.choco-solver:choco-solver:4.10.18")
+    implementation("org.choco-solver:choco-solver:4.10.18")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.6.0")
     compileOnly("com.github.curious-odd-man:rgxgen:2.0")
 
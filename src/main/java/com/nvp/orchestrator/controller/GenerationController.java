@@ -1,5 +1,6 @@
 package com.nvp.orchestrator.controller;
 
+import com.nvp.orchestrator.enums.ResponseMode;
 import com.nvp.orchestrator.service.generator.ContractsServiceGenerator;
 import com.nvp.orchestrator.service.generator.RandomServiceGenerator;
 import lombok.RequiredArgsConstructor;
@@ -19,8 +20,9 @@ public class GenerationController {
     private final ContractsServiceGenerator contractsServiceGenerator;
 
     @PostMapping(value = "/generate-service", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public String generateService(@RequestParam("file") MultipartFile openapiFile) {
-        return generatorService.generateImplementation(openapiFile);
+    public String generateService(@RequestParam("file") MultipartFile openapiFile,
+                                  @RequestParam(value = "mode", defaultValue = "RANDOM") ResponseMode mode) {
+        return generatorService.generateImplementation(openapiFile, mode);
     }
 
     @PostMapping(value = "/generate-service-libsl", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
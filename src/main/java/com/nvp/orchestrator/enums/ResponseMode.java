@@ -0,0 +1,8 @@
+package com.nvp.orchestrator.enums;
+
+public enum ResponseMode {
+    // Случайные данные по схеме
+    RANDOM,
+    // Примеры ответов из спецификации, при их отсутствии случайные данные
+    EXAMPLES
+}
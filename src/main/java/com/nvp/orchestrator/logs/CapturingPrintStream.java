@@ -1,36 +1,94 @@
 package com.nvp.orchestrator.logs;
 
+import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
+/**
+ * Замена System.err, которая пропускает весь вывод дальше и дополнительно записывает его в захват текущего потока.
+ * Захват открывается на время одной операции, поэтому параллельные операции не видят вывод друг друга,
+ * а вывод вне захвата никуда не сохраняется.
+ */
 public class CapturingPrintStream extends PrintStream {
 
-    private final PrintStream original;
-    private final List<String> capturedOutput = Collections.synchronizedList(new ArrayList<>());
+    // Ограничение на объём вывода одного захвата, остальное отбрасывается
+    private static final int MAX_CAPTURED_BYTES = 64 * 1024;
+
+    private final ThreadLocal<Capture> current = new ThreadLocal<>();
 
     public CapturingPrintStream(PrintStream original) {
-        super(original);
-        this.original = original;
+        super(original, true);
+    }
+
+    /**
+     * Начинает захват вывода текущего потока до закрытия возвращённого объекта.
+     */
+    public Capture capture() {
+        Capture capture = new Capture(current.get(), charset());
+        current.set(capture);
+        return capture;
     }
 
     @Override
-    public void println(String x) {
-        capturedOutput.add(x);
-        original.println(x);
+    public void write(int b) {
+        Capture capture = current.get();
+        if (capture != null) {
+            capture.append(new byte[]{(byte) b}, 0, 1);
+        }
+        super.write(b);
     }
 
     @Override
-    public void print(String s) {
-        capturedOutput.add(s);
-        original.print(s);
+    public void write(byte[] buf, int off, int len) {
+        Capture capture = current.get();
+        if (capture != null) {
+            capture.append(buf, off, len);
+        }
+        super.write(buf, off, len);
     }
 
-    // get and remove all captured output
-    public List<String> getCapturedOutput() {
-        List<String> result = new ArrayList<>(capturedOutput);
-        capturedOutput.clear();
-        return result;
+    public final class Capture implements AutoCloseable {
+
+        private final Capture previous;
+        private final Charset charset;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private boolean truncated;
+
+        private Capture(Capture previous, Charset charset) {
+            this.previous = previous;
+            this.charset = charset;
+        }
+
+        private void append(byte[] buf, int off, int len) {
+            int accepted = Math.min(len, MAX_CAPTURED_BYTES - buffer.size());
+            if (accepted < len) {
+                truncated = true;
+            }
+            if (accepted > 0) {
+                buffer.write(buf, off, accepted);
+            }
+        }
+
+        /**
+         * @return непустые строки, выведенные в текущем потоке с начала захвата
+         */
+        public List<String> lines() {
+            List<String> lines = new ArrayList<>(buffer.toString(charset).lines().filter(line -> !line.isBlank()).toList());
+            if (truncated) {
+                lines.add("... output truncated");
+            }
+            return lines;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
     }
-}
\ No newline at end of file
+}
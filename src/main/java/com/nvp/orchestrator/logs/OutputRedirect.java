@@ -12,7 +12,7 @@ public class OutputRedirect {
 
     @PostConstruct
     public void init() {
-        // Перенаправляем System.err
+        // Перенаправляем System.err; вывод сохраняется только внутри захватов, открытых через capture()
         capturingErr = new CapturingPrintStream(System.err);
         System.setErr(capturingErr);
     }
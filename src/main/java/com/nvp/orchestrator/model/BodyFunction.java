@@ -1,6 +1,8 @@
 package com.nvp.orchestrator.model;
 
 import com.nvp.orchestrator.exceptions.GenerationImplementationException;
+import com.nvp.orchestrator.model.action.Action;
+import com.nvp.orchestrator.model.action.ActionRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.research.libsl.nodes.*;
 import org.jetbrains.research.libsl.type.*;
@@ -12,22 +14,33 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URLClassLoader;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class BodyFunction {
+    // Процедуры, которые генерируются напрямую и не раскрываются
+    private static final Set<String> BUILT_IN_PROCEDURES = Set.of("nextInt", "nextDouble", "equals");
+
     private final Function function;
     private final Type returnType;
     private final URLClassLoader urlClassLoader;
-    private final Library library;
-
-    public BodyFunction(Function function, Type returnType, URLClassLoader urlClassLoader, Library library) {
+    private final ProcedureTemplates procedures;
+    // Типы объявленных в теле локальных переменных по их именам в Java, нужны действиям для выбора примитивных накопителей
+    private final Map<String, Class<?>> localTypes = new HashMap<>();
+    private int localCounter;
+
+    // Таблица символов инлайна: для каждой раскрываемой процедуры имена LibSL -> имена в сгенерированном коде
+    private final Deque<Map<String, String>> scopes = new ArrayDeque<>();
+    // Цепочка раскрываемых процедур, для обнаружения рекурсии
+    private final Deque<String> inlining = new ArrayDeque<>();
+    // Код, который должен выполниться перед текущим оператором: раскрытые тела процедур из его выражений
+    private CodeBlock.Builder prelude = CodeBlock.builder();
+
+    public BodyFunction(Function function, Type returnType, URLClassLoader urlClassLoader, ProcedureTemplates procedures) {
         this.function = function;
         this.returnType = returnType;
         this.urlClassLoader = urlClassLoader;
-        this.library = library;
+        this.procedures = procedures;
     }
 
     public void generateBodyFunction(MethodSpec.Builder methodBuilder) {
@@ -71,60 +84,33 @@ public class BodyFunction {
             case VariableDeclaration variableDeclaration -> {
                 log.debug("Variable declaration: {}", variableDeclaration);
                 VariableWithInitialValue variable = variableDeclaration.getVariable();
-                ModelVariable modelVariable = new ModelVariable(variable.getName(), resolveType(variable.getTypeReference().resolve()));
+                Class<?> type = resolveType(variable.getTypeReference().resolve());
                 String value = resolveExpression(variable.getInitialValue(), true);
-                if (variable.getInitialValue() instanceof ProcExpression procExpression) {
-                    Matcher m = Pattern.compile("__proc_[0-9]+_").matcher(value);
-                    String returnVariable = m.find()
-                            ? m.group()
-                            : null;
-                    if (returnVariable != null) {
-//                        log.error("Return variable not found in variable declaration: {}", variableDeclaration);
-//                        throw new GenerationImplementationException("Return variable not found in variable declaration: " + variableDeclaration);
-                        methodBuilder.add(value);
-                        value = returnVariable;
-                    }
-                }
+                ModelVariable modelVariable = new ModelVariable(declareLocal(variable.getName()), type);
+                localTypes.put(modelVariable.name(), modelVariable.type());
+                flushPrelude(methodBuilder);
                 methodBuilder.addStatement("$T $L = $L", modelVariable.type(), modelVariable.name(), variable.getInitialValue() == null ? "null" : value);
             }
             case Assignment assignment -> {
                 log.debug("Assignment: {}", assignment);
-                String variableName = resolveExpression(assignment.getLeft(), false);
-
                 String value = resolveExpression(assignment.getValue(), true);
-
-                if (assignment.getValue() instanceof ProcExpression procExpression) {
-                    value = resolveExpression(assignment.getValue(), true);
-                    Matcher m = Pattern.compile("__proc_[0-9]+_").matcher(value);
-                    String returnVariable = m.find()
-                            ? m.group()
-                            : null;
-                    if (returnVariable != null) {
-//                            log.error("Return variable not found in assignment: {}", assignment);
-//                            throw new GenerationImplementationException("Return variable not found in assignment: " + assignment);
-                        methodBuilder.add(value);
-                        value = returnVariable;
-                    }
-                }
-
-                if (assignment.getLeft() instanceof VariableAccess variableAccess) {
-                    if (variableAccess.getChildAccess() != null) {
-                        // update the value of the child access using setters
-                        methodBuilder.addStatement("$L$L)", variableName, value);
-                        return;
-                    }
-                }
-
-                methodBuilder.addStatement("$L = $L", variableName, value);
+                CodeBlock assignmentCode = assign(assignment.getLeft(), value);
+                flushPrelude(methodBuilder);
+                methodBuilder.add(assignmentCode);
             }
             case ExpressionStatement expressionStatement -> {
                 log.debug("Expression statement: {}", expressionStatement);
                 String expression = resolveExpression(expressionStatement.getExpression(), true);
-                methodBuilder.add(expression);
+                flushPrelude(methodBuilder);
+                // Значение раскрытой процедуры в операторе-выражении не используется
+                if (expression != null && !isInlinedProcedure(expressionStatement.getExpression())) {
+                    methodBuilder.add(expression);
+                }
             }
             case IfStatement ifStatement -> {
                 log.debug("If statement: {}", ifStatement);
                 String condition = resolveExpression(ifStatement.getValue(), true);
+                flushPrelude(methodBuilder);
                 methodBuilder.beginControlFlow("if ($L)", condition);
                 CodeBlock.Builder cbb = CodeBlock.builder();
                 for (Statement state : ifStatement.getIfStatements()) {
@@ -156,11 +142,12 @@ public class BodyFunction {
         return switch (expression) {
             case VariableAccess variableAccess -> {
                 if (isTopLevel) {
+                    String name = lookup(variableAccess.getFieldName());
                     if (variableAccess.getChildAccess() != null) {
-                        yield variableAccess.getFieldName() + resolveExpression(variableAccess.getChildAccess(), isRightValue, false);
+                        yield name + resolveExpression(variableAccess.getChildAccess(), isRightValue, false);
                     }
 
-                    yield variableAccess.getFieldName();
+                    yield name;
                 } else {
                     if (variableAccess.getChildAccess() != null) {
                         yield ".get" + ModelData.capitalizeFirstLetter(variableAccess.getFieldName()) + "()" + resolveExpression(variableAccess.getChildAccess(), isRightValue, false);
@@ -201,123 +188,53 @@ public class BodyFunction {
                 yield Objects.requireNonNull(floatLiteral.getValue()).toString();
             }
             case ProcExpression procExpression -> {
-                if (List.of("nextInt", "nextDouble").contains(procExpression.getProcedureCall().getName())) {
+                String procName = procExpression.getProcedureCall().getName();
+                if (List.of("nextInt", "nextDouble").contains(procName)) {
                     CodeBlock.Builder cbb = CodeBlock.builder();
-                    cbb.add("new $T()."
+                    cbb.add("$T.random()."
                             + procExpression.getProcedureCall().getName()
                             + "("
                             + procExpression.getProcedureCall().getArguments().stream()
                             .map(arg -> ((Atomic) arg).getValue().toString())
                             .collect(Collectors.joining(", "))
-                            + ")", Random.class);
+                            + ")", GeneratedRuntime.RANDOM_DATA);
                     yield cbb.build().toString();
                 }
-                if ("equals".equals(procExpression.getProcedureCall().getName())) {
+                if ("equals".equals(procName)) {
                     String left = resolveExpression(procExpression.getProcedureCall().getArguments().get(0), isRightValue);
                     String right = resolveExpression(procExpression.getProcedureCall().getArguments().get(1), isRightValue);
                     yield CodeBlock.builder().add("$T.equals(" + left + ", " + right + ")", Objects.class).build().toString();
                 }
+                if (isInlinedProcedure(procExpression)) {
+                    yield inlineProcedure(procName, procExpression.getProcedureCall().getArguments());
+                }
                 // is constructor
                 try {
                     if (!isRightValue) {
                         throw new GenerationImplementationException("Constructor call in assignment without left value" + procExpression);
                     }
-                    Class<?> clazz = resolveClassByOldType(procExpression.getProcedureCall().getName());
+                    Class<?> clazz = resolveClassByOldType(procName);
                     yield CodeBlock.builder().add("new $T()", clazz).build().toString();
                 } catch (ClassNotFoundException e) {
-                    String procName = procExpression.getProcedureCall().getName();
                     if (List.of("add").contains(procName)) {
                         // Handle special case for add
                         yield ".add(" + procExpression.getProcedureCall().getArguments().stream()
                                 .map(Node::toString)
                                 .collect(Collectors.joining(", ")) + ");";
                     }
-                    List<Expression> arguments = procExpression.getProcedureCall().getArguments();
-                    Function libFunction = library.getAutomata().stream().map(Automaton::getProcDeclarations).flatMap(List::stream)
-                            .filter(f -> f.getName().equals(procName))
-                            .findFirst()
-                            .orElseThrow(() -> new GenerationImplementationException("Function not found: " + procName));
-
-                    // Map arguments to parameters
-                    if (arguments.size() != libFunction.getArgs().size()) {
-                        throw new GenerationImplementationException("Argument count mismatch for function: " + procName);
-                    }
-
-
-                    // Build argument mapping from procedure parameters to provided arguments
-                    Map<String, String> argMapping = new HashMap<>();
-                    List<FunctionArgument> procArgs = libFunction.getArgs();
-                    for (int i = 0; i < procArgs.size(); i++) {
-                        String argName = procArgs.get(i).getName();
-                        String resolvedArgValue = resolveExpression(arguments.get(i), true);
-                        argMapping.put(argName, resolvedArgValue);
-                    }
-
-                    // Collect all variable declarations in the procedure to prefixify them
-                    List<String> procedureLocalVars = libFunction.getStatements().stream()
-                            .filter(s -> s instanceof VariableDeclaration)
-                            .map(s -> ((VariableDeclaration) s).getVariable().getName())
-                            .toList();
-
-                    CodeBlock.Builder cbb = CodeBlock.builder();
-                    // Modify the code generation to use prefixed variable names
-                    libFunction.getStatements().forEach(
-                            statement -> generateStatement(statement, cbb)
-                    );
-
-
-                    // Generate a random prefix for all procedure local variables
-
-                    String procPrefix = "__proc_" + System.currentTimeMillis() + "_";
-                    procedureLocalVars.forEach(
-                            plv -> argMapping.putIfAbsent(plv, procPrefix + plv)
-                    );
-
-                    // Replace arguments in the code block
-                    String inlinedCode = cbb.build().toString();
-                    // Replace all argument references in the inlined code
-                    // First, create unique placeholders for each variable to avoid interference
-                    Map<String, String> placeholders = new HashMap<>();
-                    int uniqueId = 0;
-                    for (String key : argMapping.keySet()) {
-                        String placeholder = "__TEMP_PLACEHOLDER_" + (uniqueId++) + "__";
-                        placeholders.put(key, placeholder);
-
-                        // Replace original variable with placeholder
-                        String pattern = "\\b" + Pattern.quote(key) + "\\b";
-                        inlinedCode = inlinedCode.replaceAll(pattern, Matcher.quoteReplacement(placeholder));
-                    }
-
-                    // Replace placeholders with prefixed vars or argument values
-                    for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                        String key = entry.getKey();
-                        String placeholder = entry.getValue();
-
-                        if (argMapping.containsKey(key)) {
-                            inlinedCode = inlinedCode.replace(placeholder, argMapping.get(key));
-                        } else {
-                            inlinedCode = inlinedCode.replace(placeholder, procPrefix + key);
-                        }
-                    }
-
-                    log.debug("Inlined function: {}", procName);
-                    boolean hasResult = libFunction.getReturnType() != null;
-                    if (hasResult) {
-                        inlinedCode = inlinedCode.replace("result =", CodeBlock.builder().add("$T $L = ", resolveType(libFunction.getReturnType().resolve()), procPrefix).build().toString());
-                    }
-                    yield inlinedCode;
+                    throw new GenerationImplementationException("Function not found: " + procName);
                 }
             }
             case ActionExpression actionExpression -> {
                 String actionName = actionExpression.getActionUsage().getActionReference().getName();
 
-                Action action = getActionByName(actionName);
+                Action action = ActionRegistry.get(actionName);
 
                 if (!action.validateArgumentTypes(actionExpression.getActionUsage())) {
                     throw new GenerationImplementationException("Несовместимые типы аргументов для действия " + actionName);
                 }
 
-                CodeBlock codeBlock = action.generateCode(actionExpression.getActionUsage());
+                CodeBlock codeBlock = action.generateCode(actionExpression.getActionUsage(), this);
                 yield codeBlock.toString();
             }
             case NullLiteral nullLiteral -> null;
@@ -360,16 +277,117 @@ public class BodyFunction {
         return urlClassLoader.loadClass("org.openapitools.model." + className);
     }
 
-    private Action getActionByName(String actionName) {
-        switch (actionName) {
-            case "ADD_ACTION" -> {
-                return new ArraySumAction(this);
-            }
-            default -> {
-                log.error("Unknown action: {}", actionName);
-                throw new GenerationImplementationException("Unknown action: " + actionName);
+    /**
+     * Inlines the procedure at the call site and returns the name of its result variable, or null if it has no result.
+     * Arguments are evaluated once in the caller's scope; locals of the procedure get names unique within the method.
+     * The procedure body is appended to the prelude of the current statement.
+     */
+    private String inlineProcedure(String procName, List<Expression> arguments) {
+        ProcedureTemplates.Template template = procedures.find(procName, this::resolveType);
+        if (inlining.contains(procName)) {
+            throw new GenerationImplementationException("Recursive procedure call: " + String.join(" -> ", inlining.reversed()) + " -> " + procName);
+        }
+        if (arguments.size() != template.argNames().size()) {
+            throw new GenerationImplementationException("Argument count mismatch for function: " + procName);
+        }
+
+        Map<String, String> scope = new HashMap<>();
+        for (int i = 0; i < arguments.size(); i++) {
+            String value = resolveExpression(arguments.get(i), true);
+            String local = newLocalName(procName + "_" + template.argNames().get(i));
+            Class<?> type = template.argTypes().get(i);
+            prelude.addStatement("$T $L = $L", type, local, value == null ? "null" : value);
+            localTypes.put(local, type);
+            scope.put(template.argNames().get(i), local);
+        }
+
+        String resultVariable = null;
+        if (template.returnType() != null) {
+            resultVariable = newLocalName(procName + "_result");
+            prelude.addStatement("$T $L = null", template.returnType(), resultVariable);
+            localTypes.put(resultVariable, template.returnType());
+            scope.put("result", resultVariable);
+        }
+
+        CodeBlock.Builder body = CodeBlock.builder();
+        CodeBlock.Builder callerPrelude = prelude;
+        prelude = CodeBlock.builder();
+        scopes.push(scope);
+        inlining.push(procName);
+        try {
+            for (Statement statement : template.procedure().getStatements()) {
+                generateStatement(statement, body);
             }
+        } finally {
+            inlining.pop();
+            scopes.pop();
+            prelude = callerPrelude;
+        }
+        prelude.add(body.build());
+
+        log.debug("Inlined function: {}", procName);
+        return resultVariable;
+    }
+
+    private boolean isInlinedProcedure(Expression expression) {
+        return expression instanceof ProcExpression procExpression
+                && procedures != null
+                && !BUILT_IN_PROCEDURES.contains(procExpression.getProcedureCall().getName())
+                && procedures.contains(procExpression.getProcedureCall().getName());
+    }
+
+    private void flushPrelude(CodeBlock.Builder methodBuilder) {
+        if (!prelude.isEmpty()) {
+            methodBuilder.add(prelude.build());
+            prelude = CodeBlock.builder();
+        }
+    }
+
+    /**
+     * @return name of the variable in generated code: inside an inlined procedure its locals and arguments are renamed
+     */
+    private String lookup(String name) {
+        Map<String, String> scope = scopes.peek();
+        return scope == null ? name : scope.getOrDefault(name, name);
+    }
+
+    private String declareLocal(String name) {
+        Map<String, String> scope = scopes.peek();
+        if (scope == null) {
+            return name;
+        }
+        String local = newLocalName(inlining.peek() + "_" + name);
+        scope.put(name, local);
+        return local;
+    }
+
+    /**
+     * Assigns the value to the target: a local variable directly, a field of an object through its setter.
+     */
+    public CodeBlock assign(Expression target, String value) {
+        String variableName = resolveExpression(target, false);
+        if (target instanceof VariableAccess variableAccess && variableAccess.getChildAccess() != null) {
+            // update the value of the child access using setters
+            return CodeBlock.builder().addStatement("$L$L)", variableName, value).build();
         }
+        return CodeBlock.builder().addStatement("$L = $L", variableName, value).build();
+    }
+
+    /**
+     * @return declared type of a local variable, or null if the expression is not a plain local variable
+     */
+    public Class<?> resolveLocalType(Expression expression) {
+        if (expression instanceof VariableAccess variableAccess && variableAccess.getChildAccess() == null) {
+            return localTypes.get(lookup(variableAccess.getFieldName()));
+        }
+        return null;
+    }
+
+    /**
+     * @return name of a generated local variable, unique within the method body
+     */
+    public String newLocalName(String hint) {
+        return "__" + hint + localCounter++;
     }
 
 }
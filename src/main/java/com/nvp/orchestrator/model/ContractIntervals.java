@@ -0,0 +1,245 @@
+package com.nvp.orchestrator.model;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.research.libsl.nodes.*;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Интервальный анализ контрактов: сужает области значений переменных модели до генерации кода.
+ * Ограничения-сравнения из конъюнкций распространяются по выражениям (сложение, вычитание,
+ * умножение на константу) до неподвижной точки. Дизъюнкции и неравенства не сужают области.
+ */
+@Slf4j
+public final class ContractIntervals {
+
+    public static final double DEFAULT_BOUND = 1_000_000;
+    private static final int MAX_PASSES = 32;
+    private static final double EPSILON = 1e-9;
+
+    private final Map<String, Interval> domains = new HashMap<>();
+    private final Set<String> integral = new HashSet<>();
+    private boolean changed;
+
+    private ContractIntervals() {
+    }
+
+    /**
+     * @param variables   переменные модели; поля результата начинают с области по умолчанию, параметры не ограничены
+     * @param expressions ограничения ensures и requires
+     * @return суженные области переменных результата или пустая карта, если контракты противоречивы
+     */
+    public static Map<String, Interval> analyze(Collection<ModelVariable> variables, Collection<Expression> expressions) {
+        ContractIntervals analysis = new ContractIntervals();
+        for (ModelVariable variable : variables) {
+            if (variable.type() == Integer.class || variable.type() == Long.class || variable.type() == Boolean.class) {
+                analysis.integral.add(variable.name());
+            }
+            if (!variable.isParameter()) {
+                analysis.domains.put(variable.name(), variable.type() == Boolean.class
+                        ? new Interval(0, 1)
+                        : new Interval(-DEFAULT_BOUND, DEFAULT_BOUND));
+            }
+        }
+
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            analysis.changed = false;
+            for (Expression expression : expressions) {
+                analysis.constrain(expression);
+            }
+            if (analysis.domains.values().stream().anyMatch(Interval::isEmpty)) {
+                log.warn("Contracts are contradictory, domains are not narrowed");
+                return Map.of();
+            }
+            if (!analysis.changed) {
+                break;
+            }
+        }
+
+        Map<String, Interval> result = new HashMap<>();
+        for (ModelVariable variable : variables) {
+            if (!variable.isParameter()) {
+                result.put(variable.name(), analysis.domains.get(variable.name()));
+            }
+        }
+        return result;
+    }
+
+    private void constrain(Expression expression) {
+        if (!(expression instanceof BinaryOpExpression binary)) {
+            return;
+        }
+
+        Expression left = binary.getLeft();
+        Expression right = binary.getRight();
+        switch (binary.getOp()) {
+            case LOG_AND -> {
+                constrain(left);
+                constrain(right);
+            }
+            case LT_EQ, LT -> lessOrEqual(left, right, binary.getOp() == ArithmeticBinaryOps.LT);
+            case GT_EQ, GT -> lessOrEqual(right, left, binary.getOp() == ArithmeticBinaryOps.GT);
+            case EQ -> {
+                Interval l = evaluate(left);
+                Interval r = evaluate(right);
+                narrow(left, r);
+                narrow(right, l);
+            }
+            default -> {
+                // Дизъюнкции и != не дают выпуклого сужения
+            }
+        }
+    }
+
+    private void lessOrEqual(Expression smaller, Expression greater, boolean strict) {
+        // Для целых выражений строгое неравенство сдвигает границу на единицу
+        double gap = strict && isIntegral(smaller) && isIntegral(greater) ? 1 : 0;
+        Interval s = evaluate(smaller);
+        Interval g = evaluate(greater);
+        narrow(smaller, new Interval(Double.NEGATIVE_INFINITY, g.hi() - gap));
+        narrow(greater, new Interval(s.lo() + gap, Double.POSITIVE_INFINITY));
+    }
+
+    private Interval evaluate(Expression expression) {
+        return switch (expression) {
+            case VariableAccess variableAccess -> domains.getOrDefault(name(variableAccess), Interval.UNBOUNDED);
+            case IntegerLiteral literal -> Interval.point(((Number) literal.getValue()).doubleValue());
+            case FloatLiteral literal -> Interval.point(((Number) literal.getValue()).doubleValue());
+            case BoolLiteral literal -> Interval.point(literal.getValue() ? 1 : 0);
+            case BinaryOpExpression binary -> {
+                Interval l = evaluate(binary.getLeft());
+                Interval r = evaluate(binary.getRight());
+                yield switch (binary.getOp()) {
+                    case ADD -> l.add(r);
+                    case SUB -> l.sub(r);
+                    case MUL -> l.mul(r);
+                    // Целочисленное деление округляет частное, поэтому интервал расширяется до целых границ
+                    case DIV -> l.div(r).widenToIntegers();
+                    default -> Interval.UNBOUNDED;
+                };
+            }
+            default -> Interval.UNBOUNDED;
+        };
+    }
+
+    private void narrow(Expression expression, Interval target) {
+        switch (expression) {
+            case VariableAccess variableAccess -> narrowVariable(name(variableAccess), target);
+            case BinaryOpExpression binary -> {
+                Expression left = binary.getLeft();
+                Expression right = binary.getRight();
+                switch (binary.getOp()) {
+                    case ADD -> {
+                        narrow(left, target.sub(evaluate(right)));
+                        narrow(right, target.sub(evaluate(left)));
+                    }
+                    case SUB -> {
+                        narrow(left, target.add(evaluate(right)));
+                        narrow(right, evaluate(left).sub(target));
+                    }
+                    case MUL -> {
+                        Interval r = evaluate(right);
+                        Interval l = evaluate(left);
+                        if (r.isPoint() && r.lo() != 0) {
+                            narrow(left, target.div(r));
+                        }
+                        if (l.isPoint() && l.lo() != 0) {
+                            narrow(right, target.div(l));
+                        }
+                    }
+                    default -> {
+                        // Деление и логика не обращаются
+                    }
+                }
+            }
+            default -> {
+                // Литералы не сужаются
+            }
+        }
+    }
+
+    private void narrowVariable(String name, Interval target) {
+        Interval current = domains.getOrDefault(name, Interval.UNBOUNDED);
+        Interval narrowed = current.intersect(target);
+        if (integral.contains(name)) {
+            narrowed = new Interval(Math.ceil(narrowed.lo() - EPSILON), Math.floor(narrowed.hi() + EPSILON));
+        }
+        if (narrowed.lo() > current.lo() + EPSILON || narrowed.hi() < current.hi() - EPSILON) {
+            domains.put(name, narrowed);
+            changed = true;
+        }
+    }
+
+    private boolean isIntegral(Expression expression) {
+        return switch (expression) {
+            case VariableAccess variableAccess -> integral.contains(name(variableAccess));
+            case IntegerLiteral ignored -> true;
+            case BoolLiteral ignored -> true;
+            case BinaryOpExpression binary -> List.of(ArithmeticBinaryOps.ADD, ArithmeticBinaryOps.SUB, ArithmeticBinaryOps.MUL).contains(binary.getOp())
+                    && isIntegral(binary.getLeft()) && isIntegral(binary.getRight());
+            default -> false;
+        };
+    }
+
+    private static String name(VariableAccess variableAccess) {
+        return ModelData.convertVariableAccessToStringName(variableAccess);
+    }
+
+    public record Interval(double lo, double hi) {
+
+        static final Interval UNBOUNDED = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+        static Interval point(double value) {
+            return new Interval(value, value);
+        }
+
+        public boolean isEmpty() {
+            return lo > hi;
+        }
+
+        public boolean isPoint() {
+            return lo == hi;
+        }
+
+        Interval intersect(Interval other) {
+            return new Interval(Math.max(lo, other.lo), Math.min(hi, other.hi));
+        }
+
+        Interval add(Interval other) {
+            return new Interval(lo + other.lo, hi + other.hi);
+        }
+
+        Interval sub(Interval other) {
+            return new Interval(lo - other.hi, hi - other.lo);
+        }
+
+        Interval mul(Interval other) {
+            double a = product(lo, other.lo);
+            double b = product(lo, other.hi);
+            double c = product(hi, other.lo);
+            double d = product(hi, other.hi);
+            return new Interval(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+        }
+
+        Interval div(Interval other) {
+            if (other.lo <= 0 && other.hi >= 0) {
+                return UNBOUNDED;
+            }
+            return mul(new Interval(1 / other.hi, 1 / other.lo));
+        }
+
+        Interval widenToIntegers() {
+            return new Interval(Math.floor(lo), Math.ceil(hi));
+        }
+
+        // 0 * бесконечность считается нулём
+        private static double product(double x, double y) {
+            return x == 0 || y == 0 ? 0 : x * y;
+        }
+    }
+}
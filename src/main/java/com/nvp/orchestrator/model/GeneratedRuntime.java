@@ -0,0 +1,27 @@
+package com.nvp.orchestrator.model;
+
+import org.springframework.javapoet.ClassName;
+
+/**
+ * Классы из project_placeholder, на которые ссылается сгенерированный код.
+ * В classpath оркестратора их нет, поэтому они описаны только именами.
+ */
+public final class GeneratedRuntime {
+
+    public static final String UTIL_PACKAGE = "org.openapitools.util";
+
+    public static final ClassName RANDOM_DATA = ClassName.get(UTIL_PACKAGE, "RandomData");
+    public static final ClassName STREAMING_RESPONSES = ClassName.get(UTIL_PACKAGE, "StreamingResponses");
+    public static final ClassName RESPONSE_POOLS = ClassName.get(UTIL_PACKAGE, "ResponsePools");
+    public static final ClassName EXAMPLE_RESPONSES = ClassName.get(UTIL_PACKAGE, "ExampleResponses");
+    public static final ClassName MODEL_SERIALIZER_MODULE = ClassName.get(UTIL_PACKAGE, "ModelSerializerModule");
+    public static final ClassName IGNORES_INPUTS = ClassName.get(UTIL_PACKAGE, "IgnoresInputs");
+    public static final ClassName SOLUTION_POOL = ClassName.get(UTIL_PACKAGE, "SolutionPool");
+    public static final ClassName SOLUTION_VALUES = ClassName.get(UTIL_PACKAGE, "SolutionValues");
+    public static final ClassName SOLUTION_TABLE = ClassName.get(UTIL_PACKAGE, "SolutionTable");
+    public static final ClassName LINEAR_SAMPLER = ClassName.get(UTIL_PACKAGE, "LinearSampler");
+    public static final ClassName SOLVER_BUDGET_EXCEEDED = ClassName.get(UTIL_PACKAGE, "SolverBudgetExceededException");
+
+    private GeneratedRuntime() {
+    }
+}
@@ -0,0 +1,65 @@
+package com.nvp.orchestrator.model;
+
+import org.jetbrains.research.libsl.nodes.Automaton;
+import org.jetbrains.research.libsl.nodes.Function;
+import org.jetbrains.research.libsl.nodes.Library;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Автоматы библиотеки LibSL по имени и их функции по имени в нижнем регистре.
+ * Строится один раз на генерацию и после этого только читается, поэтому безопасен для параллельной генерации.
+ */
+public final class LibraryIndex {
+
+    private final Map<String, Automaton> automata = new HashMap<>();
+    private final Map<String, Functions> functions = new HashMap<>();
+
+    public LibraryIndex(Library library) {
+        for (Automaton automaton : library.getAutomata()) {
+            if (automata.putIfAbsent(automaton.getName(), automaton) == null) {
+                functions.put(automaton.getName(), new Functions(automaton.getFunctions()));
+            }
+        }
+    }
+
+    public Automaton findAutomaton(String name) {
+        return automata.get(name);
+    }
+
+    /**
+     * Функция автомата для метода API: точное совпадение имени без учёта регистра,
+     * иначе первая функция, имя которой входит в имя метода.
+     */
+    public Function findFunction(Automaton automaton, String methodName) {
+        Functions automatonFunctions = functions.get(automaton.getName());
+        String name = methodName.toLowerCase(Locale.ROOT);
+
+        Function exact = automatonFunctions.byName().get(name);
+        if (exact != null) {
+            return exact;
+        }
+        for (Map.Entry<String, Function> entry : automatonFunctions.ordered()) {
+            if (name.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private record Functions(Map<String, Function> byName, List<Map.Entry<String, Function>> ordered) {
+
+        Functions(List<Function> functions) {
+            this(new HashMap<>(), new ArrayList<>());
+            for (Function function : functions) {
+                String name = function.getName().toLowerCase(Locale.ROOT);
+                byName.putIfAbsent(name, function);
+                ordered.add(Map.entry(name, function));
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.nvp.orchestrator.model;
+
+import org.springframework.javapoet.CodeBlock;
+
+import java.util.List;
+
+/**
+ * Conjunction of linear constraints over result fields:
+ * {@code sum(coefficients[i] * variables[i]) + constant REL 0}.
+ * The constant is a generated expression, so it may depend on request parameters.
+ */
+public record LinearSystem(List<ModelVariable> variables, List<Constraint> constraints) {
+
+    /**
+     * LT is used only for strict relations over real variables; integral strict relations become LE with +1.
+     */
+    public enum Relation {
+        LE, EQ, LT
+    }
+
+    public record Constraint(double[] coefficients, Relation relation, CodeBlock constant) {
+    }
+}
@@ -1,6 +1,5 @@
 package com.nvp.orchestrator.model;
 
-import com.github.curiousoddman.rgxgen.RgxGen;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -10,6 +9,7 @@ import org.springframework.javapoet.CodeBlock;
 
 import java.lang.reflect.Parameter;
 import java.util.*;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import static java.util.regex.Matcher.quoteReplacement;
@@ -23,17 +23,72 @@ public class ModelData {
     private final static List<Class<?>> CONTRACT_SUPPORTED_TYPES =
             List.of(Integer.class, Double.class, Boolean.class, Float.class, Long.class);
 
+    // Генерация кода солвера: left.method(right), как и при решении контрактов во время генерации
+    private static final SolverContractTranslator<CodeBlock> SOLVER_CODE = new SolverContractTranslator<>() {
+        @Override
+        public CodeBlock variable(String name) {
+            return CodeBlock.of("$L", name);
+        }
+
+        @Override
+        public CodeBlock literal(Number value) {
+            return CodeBlock.of("$L", value);
+        }
+
+        @Override
+        public CodeBlock operation(CodeBlock left, String method, CodeBlock right) {
+            return CodeBlock.of("$L.$L($L)", left, method, right);
+        }
+
+        @Override
+        public CodeBlock unsupported(String description) {
+            throw new IllegalArgumentException("Unsupported " + description);
+        }
+    };
+
     private final List<String> allFields = new ArrayList<>();
     private final Class<?> returnClass;
     private final List<Contract> ensures;
     private final List<ContractWithData> contractsWithData = new ArrayList<>();
     private final Set<ModelVariable> methodParameters;
+    // Суженные интервальным анализом области переменных результата
+    private final Map<String, ContractIntervals.Interval> domains;
 
-    public ModelData(@NotNull Class<?> returnClass, @NotNull List<Contract> ensures, Parameter[] parameters) {
+    public ModelData(@NotNull Class<?> returnClass, @NotNull List<Contract> ensures, @NotNull List<Contract> requires, Parameter[] parameters) {
         this.returnClass = returnClass;
         this.ensures = ensures;
         this.methodParameters = gatherParameters(parameters);
         gatherFieldsAffectedByContracts();
+        this.domains = narrowDomains(requires);
+    }
+
+    private Map<String, ContractIntervals.Interval> narrowDomains(List<Contract> requires) {
+        Set<ModelVariable> variables = new HashSet<>(getFieldsAffectedByContracts());
+        List<Expression> expressions = new ArrayList<>(getSolverContractExpressions());
+        for (Contract require : requires) {
+            try {
+                Set<ModelVariable> requireVariables = getFieldNameIfExist(require.getExpression());
+                variables.addAll(requireVariables);
+                expressions.add(require.getExpression());
+            } catch (RuntimeException e) {
+                // Предусловия над неизвестными полями не участвуют в анализе
+                log.debug("Require {} is skipped by interval analysis", require.getName(), e);
+            }
+        }
+        return ContractIntervals.analyze(variables, expressions);
+    }
+
+    /**
+     * @return domain of a result variable narrowed by the contracts, or the default one
+     */
+    public ContractIntervals.Interval getDomain(ModelVariable variable) {
+        ContractIntervals.Interval domain = domains.get(variable.name());
+        if (domain != null) {
+            return domain;
+        }
+        return variable.type() == Boolean.class
+                ? new ContractIntervals.Interval(0, 1)
+                : new ContractIntervals.Interval(-ContractIntervals.DEFAULT_BOUND, ContractIntervals.DEFAULT_BOUND);
     }
 
     private Set<ModelVariable> gatherParameters(Parameter[] parameters) {
@@ -91,10 +146,10 @@ public class ModelData {
     private CodeBlock getValueSetterByClass(ModelVariable mv) {
         CodeBlock.Builder cbb = CodeBlock.builder();
         switch (mv.type().getSimpleName()) {
-            case "Integer" -> cbb.add("$L.getValue()", mv.name());
-            case "Double" -> cbb.add("$T.round(new $T().nextDouble($L.getLB(), $L.getUB()) * 100) / 100.0", Math.class, Random.class, mv.name(), mv.name());
-            case "Float" -> cbb.add("(float) ($T.round(new $T().nextDouble($L.getLB(), $L.getUB()) * 100) / 100.0)", Math.class, Random.class, mv.name(), mv.name());
-            case "Boolean" -> cbb.add("$L.getValue() == 1", mv.name());
+            case "Integer" -> cbb.add("solution.intValue($S)", mv.name());
+            case "Double" -> cbb.add("$T.round($T.nextDouble(solution.realLowerBound($S), solution.realUpperBound($S)) * 100) / 100.0", Math.class, GeneratedRuntime.RANDOM_DATA, mv.name(), mv.name());
+            case "Float" -> cbb.add("(float) ($T.round($T.nextDouble(solution.realLowerBound($S), solution.realUpperBound($S)) * 100) / 100.0)", Math.class, GeneratedRuntime.RANDOM_DATA, mv.name(), mv.name());
+            case "Boolean" -> cbb.add("solution.boolValue($S)", mv.name());
             case "String" -> cbb.add("$L", mv.name());
             default -> throw new IllegalArgumentException("Unsupported type: " + mv.type());
         }
@@ -102,9 +157,9 @@ public class ModelData {
     }
 
     /**
-     * Generates model contracts for the given ensures
+     * Generates solver constraints for ensures over numeric and boolean fields.
      */
-    public CodeBlock generateModelContracts() {
+    public CodeBlock generateSolverContracts() {
         CodeBlock.Builder cbb = CodeBlock.builder();
 
         List<Contract> ensuresOfPrimitiveTypes = getEnsuresOfPrimitiveTypes();
@@ -115,6 +170,16 @@ public class ModelData {
             cbb.addStatement(contractCbb.build());
         }
 
+        return cbb.build();
+    }
+
+    /**
+     * Generates direct assignments for ensures that are not solved by the solver.
+     * patternField maps a regular expression to the name of a static pre-parsed RgxGen field
+     */
+    public CodeBlock generateAssignmentContracts(UnaryOperator<String> patternField) {
+        CodeBlock.Builder cbb = CodeBlock.builder();
+
         List<Contract> ensuresOfNonPrimitiveTypes = getEnsuresOfNonPrimitiveTypes();
         cbb.add("\n// Non-primitive types\n");
         for (Contract contract : ensuresOfNonPrimitiveTypes) {
@@ -124,12 +189,231 @@ public class ModelData {
         List<Contract> regularEnsures = getRegularEnsures();
         cbb.add("\n// Regular ensures\n");
         for (Contract contract : regularEnsures) {
-            cbb.addStatement(generateRegularEnsures(contract.getExpression()));
+            cbb.addStatement(generateRegularEnsures(contract.getExpression(), patternField));
         }
 
         return cbb.build();
     }
 
+    public static boolean isSolverVariable(ModelVariable modelVariable) {
+        return modelVariable.type() != String.class;
+    }
+
+    /**
+     * Parameters whose values are baked into the solver model, in a stable order.
+     */
+    public List<ModelVariable> getSolverParameters() {
+        return getFieldsAffectedByContracts().stream()
+                .filter(ModelVariable::isParameter)
+                .filter(ModelData::isSolverVariable)
+                .sorted(Comparator.comparing(ModelVariable::name))
+                .toList();
+    }
+
+    /**
+     * Expressions of ensures handled by the solver, see {@link #generateSolverContracts()}.
+     */
+    public List<Expression> getSolverContractExpressions() {
+        return getEnsuresOfPrimitiveTypes().stream().map(Contract::getExpression).toList();
+    }
+
+    /**
+     * Solver variables in a stable order.
+     */
+    public List<ModelVariable> getSolverVariables() {
+        return getFieldsAffectedByContracts().stream()
+                .filter(ModelData::isSolverVariable)
+                .sorted(Comparator.comparing(ModelVariable::name))
+                .toList();
+    }
+
+    /**
+     * Recognizes solver contracts that form a conjunction of linear (in)equalities over result fields,
+     * with request parameters and literals as constant terms.
+     *
+     * @return the linear system or null if some contract is non-linear, disjunctive or uses !=
+     */
+    public LinearSystem classifyLinear() {
+        List<ModelVariable> variables = getSolverVariables().stream().filter(mv -> !mv.isParameter()).toList();
+        if (variables.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < variables.size(); i++) {
+            indexes.put(variables.get(i).name(), i);
+        }
+
+        List<LinearSystem.Constraint> constraints = new ArrayList<>();
+        for (Expression expression : getSolverContractExpressions()) {
+            if (!collectLinearConstraints(expression, indexes, variables, constraints)) {
+                return null;
+            }
+        }
+        return new LinearSystem(variables, constraints);
+    }
+
+    private boolean collectLinearConstraints(Expression expression, Map<String, Integer> indexes, List<ModelVariable> variables,
+                                             List<LinearSystem.Constraint> constraints) {
+        if (!(expression instanceof BinaryOpExpression binary)) {
+            return false;
+        }
+
+        ArithmeticBinaryOps op = binary.getOp();
+        if (op == ArithmeticBinaryOps.LOG_AND) {
+            return collectLinearConstraints(binary.getLeft(), indexes, variables, constraints)
+                    && collectLinearConstraints(binary.getRight(), indexes, variables, constraints);
+        }
+        if (!List.of(ArithmeticBinaryOps.LT, ArithmeticBinaryOps.LT_EQ, ArithmeticBinaryOps.GT,
+                ArithmeticBinaryOps.GT_EQ, ArithmeticBinaryOps.EQ).contains(op)) {
+            return false;
+        }
+
+        LinearForm left = toLinearForm(binary.getLeft(), indexes, variables.size());
+        LinearForm right = toLinearForm(binary.getRight(), indexes, variables.size());
+        if (left == null || right == null) {
+            return false;
+        }
+
+        // Всё переносится в левую часть: left - right REL 0, для > и >= знак меняется
+        boolean greater = op == ArithmeticBinaryOps.GT || op == ArithmeticBinaryOps.GT_EQ;
+        LinearForm form = greater ? right.minus(left) : left.minus(right);
+        LinearSystem.Relation relation = op == ArithmeticBinaryOps.EQ ? LinearSystem.Relation.EQ : LinearSystem.Relation.LE;
+
+        CodeBlock constant = form.constant();
+        boolean strict = op == ArithmeticBinaryOps.LT || op == ArithmeticBinaryOps.GT;
+        if (strict && form.isIntegral(variables)) {
+            // Для целых переменных с целыми коэффициентами x < 0 равносильно x + 1 <= 0
+            constant = CodeBlock.of("$L + 1", constant);
+        } else if (strict) {
+            relation = LinearSystem.Relation.LT;
+        }
+
+        constraints.add(new LinearSystem.Constraint(form.coefficients, relation, constant));
+        return true;
+    }
+
+    private LinearForm toLinearForm(Expression expression, Map<String, Integer> indexes, int size) {
+        return switch (expression) {
+            case VariableAccess variableAccess -> {
+                ModelVariable variable = getFieldVariable(variableAccess);
+                LinearForm form = new LinearForm(size);
+                if (variable.isParameter()) {
+                    if (!Number.class.isAssignableFrom(variable.type())) {
+                        yield null;
+                    }
+                    form.terms.add(CodeBlock.of("$L", restorePathOfParameter(variable)));
+                    form.parameterIntegral &= variable.type() == Integer.class || variable.type() == Long.class;
+                } else {
+                    Integer index = indexes.get(variable.name());
+                    if (index == null) {
+                        yield null;
+                    }
+                    form.coefficients[index] = 1;
+                }
+                yield form;
+            }
+            case IntegerLiteral literal -> LinearForm.literal(size, ((Number) literal.getValue()).doubleValue());
+            case FloatLiteral literal -> LinearForm.literal(size, ((Number) literal.getValue()).doubleValue());
+            case BoolLiteral literal -> LinearForm.literal(size, literal.getValue() ? 1 : 0);
+            case BinaryOpExpression binary -> {
+                LinearForm left = toLinearForm(binary.getLeft(), indexes, size);
+                LinearForm right = toLinearForm(binary.getRight(), indexes, size);
+                if (left == null || right == null) {
+                    yield null;
+                }
+                yield switch (binary.getOp()) {
+                    case ADD -> left.plus(right);
+                    case SUB -> left.minus(right);
+                    // Линейность сохраняется только при умножении на числовую константу
+                    case MUL -> left.isLiteral() ? right.times(left.literal) : right.isLiteral() ? left.times(right.literal) : null;
+                    default -> null;
+                };
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * Linear expression: coefficients of result fields, parameter terms and a literal part.
+     */
+    private static final class LinearForm {
+        private final double[] coefficients;
+        private final List<CodeBlock> terms = new ArrayList<>();
+        private double literal;
+        private boolean parameterIntegral = true;
+
+        private LinearForm(int size) {
+            this.coefficients = new double[size];
+        }
+
+        static LinearForm literal(int size, double value) {
+            LinearForm form = new LinearForm(size);
+            form.literal = value;
+            return form;
+        }
+
+        boolean isLiteral() {
+            return terms.isEmpty() && Arrays.stream(coefficients).allMatch(c -> c == 0);
+        }
+
+        LinearForm plus(LinearForm other) {
+            return combine(other, 1);
+        }
+
+        LinearForm minus(LinearForm other) {
+            return combine(other, -1);
+        }
+
+        LinearForm times(double factor) {
+            LinearForm result = new LinearForm(coefficients.length);
+            for (int i = 0; i < coefficients.length; i++) {
+                result.coefficients[i] = coefficients[i] * factor;
+            }
+            for (CodeBlock term : terms) {
+                result.terms.add(CodeBlock.of("$L * ($L)", factor, term));
+            }
+            result.literal = literal * factor;
+            result.parameterIntegral = parameterIntegral && factor == Math.rint(factor);
+            return result;
+        }
+
+        private LinearForm combine(LinearForm other, double sign) {
+            LinearForm result = new LinearForm(coefficients.length);
+            for (int i = 0; i < coefficients.length; i++) {
+                result.coefficients[i] = coefficients[i] + sign * other.coefficients[i];
+            }
+            result.terms.addAll(terms);
+            for (CodeBlock term : other.terms) {
+                result.terms.add(sign > 0 ? term : CodeBlock.of("-($L)", term));
+            }
+            result.literal = literal + sign * other.literal;
+            result.parameterIntegral = parameterIntegral && other.parameterIntegral;
+            return result;
+        }
+
+        CodeBlock constant() {
+            CodeBlock.Builder cbb = CodeBlock.builder().add("$L", literal);
+            for (CodeBlock term : terms) {
+                cbb.add(" + $L", term);
+            }
+            return cbb.build();
+        }
+
+        boolean isIntegral(List<ModelVariable> variables) {
+            if (!parameterIntegral || literal != Math.rint(literal)) {
+                return false;
+            }
+            for (int i = 0; i < coefficients.length; i++) {
+                if (coefficients[i] != 0 && (coefficients[i] != Math.rint(coefficients[i])
+                        || !(variables.get(i).type() == Integer.class || variables.get(i).type() == Boolean.class))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     private List<Contract> getEnsuresOfPrimitiveTypes() {
         return contractsWithData.stream()
                 .filter(cwd -> cwd.variables().stream().map(ModelVariable::type).allMatch(CONTRACT_SUPPORTED_TYPES::contains))
@@ -164,19 +448,35 @@ public class ModelData {
     }
 
     private static CodeBlock generateModelContracts(Expression expression) {
-        CodeBlock.Builder cbb = CodeBlock.builder();
-
-        if (!(expression instanceof BinaryOpExpression binaryOpExpression)) {
+        if (!(expression instanceof BinaryOpExpression)) {
             throw new IllegalArgumentException("Unsupported expression type: " + expression.getClass().getName());
         }
+        return translateSolverContract(expression, SOLVER_CODE);
+    }
 
-        CodeBlock left = expressionToCodeBlock(binaryOpExpression.getLeft());
-
-        CodeBlock right = expressionToCodeBlock(binaryOpExpression.getRight());
-
-        cbb.add("$L.$L($L)", left, convertOpToMethod(binaryOpExpression.getOp()), right);
-
-        return cbb.build();
+    /**
+     * Walks a solver contract and hands variables, literals and operations to the translator.
+     * Operators are mapped to Choco method names here only, so generated code and generation-time solving agree.
+     *
+     * @return the translation or null if the translator does not support some part of the expression
+     */
+    public static <T> T translateSolverContract(Expression expression, SolverContractTranslator<T> translator) {
+        return switch (expression) {
+            case VariableAccess variableAccess -> translator.variable(convertVariableAccessToStringName(variableAccess));
+            case IntegerLiteral integerLiteral -> translator.literal((Number) integerLiteral.getValue());
+            case FloatLiteral floatLiteral -> translator.literal((Number) floatLiteral.getValue());
+            case BoolLiteral boolLiteral -> translator.literal(boolLiteral.getValue() ? 1 : 0);
+            case BinaryOpExpression binaryOpExpression -> {
+                String method = convertOpToMethod(binaryOpExpression.getOp());
+                if (method == null) {
+                    yield translator.unsupported("operation: " + binaryOpExpression.getOp());
+                }
+                T left = translateSolverContract(binaryOpExpression.getLeft(), translator);
+                T right = left == null ? null : translateSolverContract(binaryOpExpression.getRight(), translator);
+                yield right == null ? null : translator.operation(left, method, right);
+            }
+            default -> translator.unsupported("expression type: " + expression.getClass().getName());
+        };
     }
 
     private static CodeBlock generateNonModelContracts(Expression expression) {
@@ -191,12 +491,16 @@ public class ModelData {
         }
     }
 
-    private static CodeBlock generateRegularEnsures(Expression expression) {
+    private static CodeBlock generateRegularEnsures(Expression expression, UnaryOperator<String> patternField) {
         if (expression instanceof BinaryOpExpression binaryOpExpression) {
             CodeBlock.Builder cbb = CodeBlock.builder();
             CodeBlock left = expressionToCodeBlock(binaryOpExpression.getLeft());
-            CodeBlock right = expressionToCodeBlock(binaryOpExpression.getRight());
-            cbb.add("$L = $T.parse($L).generate()", left, RgxGen.class, right);
+            if (binaryOpExpression.getRight() instanceof StringLiteral stringLiteral) {
+                cbb.add("$L = $T.string($L)", left, GeneratedRuntime.RANDOM_DATA, patternField.apply(stringLiteral.getValue()));
+            } else {
+                CodeBlock right = expressionToCodeBlock(binaryOpExpression.getRight());
+                cbb.add("$L = $T.string($T.pattern($L))", left, GeneratedRuntime.RANDOM_DATA, GeneratedRuntime.RANDOM_DATA, right);
+            }
             return cbb.build();
         } else {
             throw new IllegalArgumentException("Unsupported expression type: " + expression.getClass().getName());
@@ -215,6 +519,7 @@ public class ModelData {
         };
     }
 
+    // null, если у операции нет аналога в Choco
     private static String convertOpToMethod(ArithmeticBinaryOps op) {
         return switch (op) {
             case LOG_AND -> "and";
@@ -229,7 +534,7 @@ public class ModelData {
             case ADD -> "add";
             case SUB -> "sub";
             case DIV -> "div";
-            default -> throw new IllegalArgumentException("Unsupported operation: " + op);
+            default -> null;
         };
     }
 
@@ -279,7 +584,7 @@ public class ModelData {
         }
     }
 
-    private static String convertVariableAccessToStringName(VariableAccess variableAccess) {
+    public static String convertVariableAccessToStringName(VariableAccess variableAccess) {
         String dumpedToString = variableAccess.dumpToString();
         return FIELD_DELIMITER + dumpedToString.replaceAll("\\.", quoteReplacement(FIELD_DELIMITER));
     }
@@ -0,0 +1,68 @@
+package com.nvp.orchestrator.model;
+
+import org.jetbrains.research.libsl.nodes.Automaton;
+import org.jetbrains.research.libsl.nodes.Function;
+import org.jetbrains.research.libsl.nodes.FunctionArgument;
+import org.jetbrains.research.libsl.nodes.Library;
+import org.jetbrains.research.libsl.type.Type;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Процедуры библиотеки LibSL, доступные для инлайна, по имени.
+ * Индекс строится один раз на библиотеку, а сигнатура процедуры разрешается при первом инлайне
+ * и переиспользуется во всех местах вызова.
+ */
+public final class ProcedureTemplates {
+
+    private final Map<String, Function> procedures = new HashMap<>();
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    public ProcedureTemplates(Library library) {
+        for (Automaton automaton : library.getAutomata()) {
+            for (Function procedure : automaton.getProcDeclarations()) {
+                // При совпадении имён используется первая объявленная процедура
+                procedures.putIfAbsent(procedure.getName(), procedure);
+            }
+        }
+    }
+
+    public boolean contains(String name) {
+        return procedures.containsKey(name);
+    }
+
+    /**
+     * @return шаблон процедуры или null, если процедуры с таким именем нет
+     */
+    public Template find(String name, TypeResolver typeResolver) {
+        Function procedure = procedures.get(name);
+        if (procedure == null) {
+            return null;
+        }
+        return templates.computeIfAbsent(name, n -> createTemplate(procedure, typeResolver));
+    }
+
+    private static Template createTemplate(Function procedure, TypeResolver typeResolver) {
+        List<FunctionArgument> args = procedure.getArgs();
+        List<String> argNames = args.stream().map(FunctionArgument::getName).toList();
+        List<Class<?>> argTypes = args.stream()
+                .<Class<?>>map(arg -> typeResolver.resolve(arg.getTypeReference().resolve()))
+                .toList();
+        Class<?> returnType = procedure.getReturnType() == null ? null : typeResolver.resolve(procedure.getReturnType().resolve());
+        return new Template(procedure, argNames, argTypes, returnType);
+    }
+
+    @FunctionalInterface
+    public interface TypeResolver {
+        Class<?> resolve(Type type);
+    }
+
+    /**
+     * Процедура с разрешёнными типами аргументов и результата. returnType равен null для процедур без результата.
+     */
+    public record Template(Function procedure, List<String> argNames, List<Class<?>> argTypes, Class<?> returnType) {
+    }
+}
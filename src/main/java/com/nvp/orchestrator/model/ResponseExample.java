@@ -0,0 +1,9 @@
+package com.nvp.orchestrator.model;
+
+public record ResponseExample(int status, String contentType, byte[] body) {
+    public ResponseExample {
+        if (contentType == null || body == null) {
+            throw new IllegalArgumentException("Content type and body should not be null");
+        }
+    }
+}
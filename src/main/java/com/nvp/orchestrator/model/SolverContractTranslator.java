@@ -0,0 +1,24 @@
+package com.nvp.orchestrator.model;
+
+/**
+ * Target of {@link ModelData#translateSolverContract}: builds either generated solver code or solver objects
+ * from the same walk over a contract, so both follow the same operator semantics.
+ *
+ * @param <T> translated expression; null means the expression is not supported by this translator
+ */
+public interface SolverContractTranslator<T> {
+
+    T variable(String name);
+
+    /**
+     * @param value Integer, Long, Float or Double literal; booleans arrive as 0 and 1
+     */
+    T literal(Number value);
+
+    /**
+     * @param method Choco method applied to the left operand: add, lt, and, ...
+     */
+    T operation(T left, String method, T right);
+
+    T unsupported(String description);
+}
@@ -0,0 +1,22 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.model.BodyFunction;
+import org.jetbrains.research.libsl.nodes.ActionUsage;
+import org.springframework.javapoet.CodeBlock;
+
+/**
+ * Действие LibSL, которое генерирует код в теле функции.
+ * Реализации находятся через {@link java.util.ServiceLoader} и не должны хранить состояние:
+ * один экземпляр используется для всех тел функций.
+ */
+public interface Action {
+
+    /**
+     * @return имя действия, под которым оно используется в LibSL
+     */
+    String getName();
+
+    boolean validateArgumentTypes(ActionUsage actionUsage);
+
+    CodeBlock generateCode(ActionUsage actionUsage, BodyFunction bodyFunction);
+}
@@ -0,0 +1,43 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.exceptions.GenerationImplementationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Действия, объявленные в META-INF/services/com.nvp.orchestrator.model.action.Action.
+ * Новое действие подключается добавлением реализации в этот файл, без изменения {@link com.nvp.orchestrator.model.BodyFunction}.
+ */
+@Slf4j
+public final class ActionRegistry {
+
+    private static final Map<String, Action> ACTIONS = load();
+
+    private ActionRegistry() {
+    }
+
+    public static Action get(String name) {
+        Action action = ACTIONS.get(name);
+        if (action == null) {
+            log.error("Unknown action: {}", name);
+            throw new GenerationImplementationException("Unknown action: " + name);
+        }
+        return action;
+    }
+
+    private static Map<String, Action> load() {
+        Map<String, Action> actions = new HashMap<>();
+        for (Action action : ServiceLoader.load(Action.class, ActionRegistry.class.getClassLoader())) {
+            Action previous = actions.putIfAbsent(action.getName(), action);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate action " + action.getName() + ": "
+                        + previous.getClass().getName() + " and " + action.getClass().getName());
+            }
+        }
+        log.debug("Registered actions: {}", actions.keySet());
+        return Map.copyOf(actions);
+    }
+}
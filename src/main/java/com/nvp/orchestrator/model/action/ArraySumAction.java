@@ -0,0 +1,33 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.model.BodyFunction;
+import org.jetbrains.research.libsl.nodes.ActionUsage;
+import org.jetbrains.research.libsl.nodes.Expression;
+import org.springframework.javapoet.CodeBlock;
+
+/**
+ * ADD_ACTION(list, sum): прибавляет к sum сумму элементов list.
+ */
+public class ArraySumAction extends CollectionAction {
+
+    public ArraySumAction() {
+        super("ADD_ACTION", 2);
+    }
+
+    @Override
+    public CodeBlock generateCode(ActionUsage actionUsage, BodyFunction bodyFunction) {
+        Expression target = argument(actionUsage, 1);
+        CodeBlock.Builder cbb = CodeBlock.builder();
+        String list = hoist(cbb, bodyFunction, argument(actionUsage, 0), "list");
+        String sum = bodyFunction.newLocalName("sum");
+        String i = bodyFunction.newLocalName("i");
+        String n = bodyFunction.newLocalName("n");
+
+        cbb.addStatement("$L $L = $L", accumulatorType(bodyFunction, target), sum, bodyFunction.resolveExpression(target, true));
+        cbb.beginControlFlow("for (int $L = 0, $L = $L.size(); $L < $L; $L++)", i, n, list, i, n, i);
+        cbb.addStatement("$L += $L.get($L)", sum, list, i);
+        cbb.endControlFlow();
+        cbb.add(bodyFunction.assign(target, sum));
+        return cbb.build();
+    }
+}
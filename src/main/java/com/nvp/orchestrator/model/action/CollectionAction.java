@@ -0,0 +1,57 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.model.BodyFunction;
+import org.jetbrains.research.libsl.nodes.ActionUsage;
+import org.jetbrains.research.libsl.nodes.Expression;
+import org.springframework.javapoet.CodeBlock;
+import org.springframework.javapoet.TypeName;
+
+/**
+ * Общие приёмы генерации для действий над коллекциями: аргументы вычисляются один раз в локальные переменные,
+ * а накопители числовых типов объявляются примитивами, чтобы цикл не упаковывал значения на каждой итерации.
+ */
+abstract class CollectionAction implements Action {
+
+    private final String name;
+    private final int argumentCount;
+
+    protected CollectionAction(String name, int argumentCount) {
+        this.name = name;
+        this.argumentCount = argumentCount;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean validateArgumentTypes(ActionUsage actionUsage) {
+        return actionUsage.getArguments().size() == argumentCount;
+    }
+
+    protected static Expression argument(ActionUsage actionUsage, int index) {
+        return actionUsage.getArguments().get(index);
+    }
+
+    /**
+     * Вычисляет выражение один раз и возвращает имя локальной переменной с его значением.
+     */
+    protected static String hoist(CodeBlock.Builder cbb, BodyFunction bodyFunction, Expression expression, String hint) {
+        String local = bodyFunction.newLocalName(hint);
+        cbb.addStatement("var $L = $L", local, bodyFunction.resolveExpression(expression, true));
+        return local;
+    }
+
+    /**
+     * @return примитивный тип для накопителя с типом выражения или var, если тип неизвестен или не числовой
+     */
+    protected static String accumulatorType(BodyFunction bodyFunction, Expression expression) {
+        Class<?> type = bodyFunction.resolveLocalType(expression);
+        if (type == null || !Number.class.isAssignableFrom(type)) {
+            return "var";
+        }
+        TypeName typeName = TypeName.get(type);
+        return typeName.isBoxedPrimitive() ? typeName.unbox().toString() : "var";
+    }
+}
@@ -0,0 +1,23 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.model.BodyFunction;
+import org.jetbrains.research.libsl.nodes.ActionUsage;
+import org.springframework.javapoet.CodeBlock;
+
+/**
+ * CONTAINS_ACTION(collection, value, target): есть ли value в collection.
+ */
+public class ContainsAction extends CollectionAction {
+
+    public ContainsAction() {
+        super("CONTAINS_ACTION", 3);
+    }
+
+    @Override
+    public CodeBlock generateCode(ActionUsage actionUsage, BodyFunction bodyFunction) {
+        String contains = CodeBlock.of("$L.contains($L)",
+                bodyFunction.resolveExpression(argument(actionUsage, 0), true),
+                bodyFunction.resolveExpression(argument(actionUsage, 1), true)).toString();
+        return bodyFunction.assign(argument(actionUsage, 2), contains);
+    }
+}
@@ -0,0 +1,36 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.model.BodyFunction;
+import org.jetbrains.research.libsl.nodes.ActionUsage;
+import org.springframework.javapoet.CodeBlock;
+
+import java.util.Objects;
+
+/**
+ * COUNT_ACTION(list, value, target): число элементов list, равных value.
+ */
+public class CountAction extends CollectionAction {
+
+    public CountAction() {
+        super("COUNT_ACTION", 3);
+    }
+
+    @Override
+    public CodeBlock generateCode(ActionUsage actionUsage, BodyFunction bodyFunction) {
+        CodeBlock.Builder cbb = CodeBlock.builder();
+        String list = hoist(cbb, bodyFunction, argument(actionUsage, 0), "list");
+        String value = hoist(cbb, bodyFunction, argument(actionUsage, 1), "value");
+        String count = bodyFunction.newLocalName("count");
+        String i = bodyFunction.newLocalName("i");
+        String n = bodyFunction.newLocalName("n");
+
+        cbb.addStatement("int $L = 0", count);
+        cbb.beginControlFlow("for (int $L = 0, $L = $L.size(); $L < $L; $L++)", i, n, list, i, n, i);
+        cbb.beginControlFlow("if ($T.equals($L.get($L), $L))", Objects.class, list, i, value);
+        cbb.addStatement("$L++", count);
+        cbb.endControlFlow();
+        cbb.endControlFlow();
+        cbb.add(bodyFunction.assign(argument(actionUsage, 2), count));
+        return cbb.build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.model.BodyFunction;
+import org.jetbrains.research.libsl.nodes.ActionUsage;
+import org.jetbrains.research.libsl.nodes.Expression;
+import org.springframework.javapoet.CodeBlock;
+
+/**
+ * Записывает в target наименьший или наибольший элемент list. Для пустого списка target не меняется.
+ */
+abstract class ExtremumAction extends CollectionAction {
+
+    private final String comparison;
+
+    protected ExtremumAction(String name, String comparison) {
+        super(name, 2);
+        this.comparison = comparison;
+    }
+
+    @Override
+    public CodeBlock generateCode(ActionUsage actionUsage, BodyFunction bodyFunction) {
+        Expression target = argument(actionUsage, 1);
+        String type = accumulatorType(bodyFunction, target);
+        CodeBlock.Builder cbb = CodeBlock.builder();
+        String list = hoist(cbb, bodyFunction, argument(actionUsage, 0), "list");
+        String best = bodyFunction.newLocalName("best");
+        String value = bodyFunction.newLocalName("value");
+        String i = bodyFunction.newLocalName("i");
+        String n = bodyFunction.newLocalName("n");
+
+        cbb.beginControlFlow("if (!$L.isEmpty())", list);
+        cbb.addStatement("$L $L = $L.get(0)", type, best, list);
+        cbb.beginControlFlow("for (int $L = 1, $L = $L.size(); $L < $L; $L++)", i, n, list, i, n, i);
+        cbb.addStatement("$L $L = $L.get($L)", type, value, list, i);
+        if (type.equals("var")) {
+            // Тип неизвестен: сравниваем как Comparable
+            cbb.beginControlFlow("if ($L.compareTo($L) $L 0)", value, best, comparison);
+        } else {
+            cbb.beginControlFlow("if ($L $L $L)", value, comparison, best);
+        }
+        cbb.addStatement("$L = $L", best, value);
+        cbb.endControlFlow();
+        cbb.endControlFlow();
+        cbb.add(bodyFunction.assign(target, best));
+        cbb.endControlFlow();
+        return cbb.build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.model.BodyFunction;
+import org.jetbrains.research.libsl.nodes.ActionUsage;
+import org.springframework.javapoet.CodeBlock;
+
+/**
+ * FILTER_ACTION(list, min, max): оставляет в list только элементы из отрезка [min, max].
+ */
+public class FilterAction extends CollectionAction {
+
+    public FilterAction() {
+        super("FILTER_ACTION", 3);
+    }
+
+    @Override
+    public CodeBlock generateCode(ActionUsage actionUsage, BodyFunction bodyFunction) {
+        CodeBlock.Builder cbb = CodeBlock.builder();
+        String min = hoist(cbb, bodyFunction, argument(actionUsage, 1), "min");
+        String max = hoist(cbb, bodyFunction, argument(actionUsage, 2), "max");
+        String value = bodyFunction.newLocalName("value");
+
+        // removeIf у ArrayList удаляет за один проход, без копирования на каждый элемент
+        cbb.addStatement("$L.removeIf($L -> $L < $L || $L > $L)",
+                bodyFunction.resolveExpression(argument(actionUsage, 0), true), value, value, min, value, max);
+        return cbb.build();
+    }
+}
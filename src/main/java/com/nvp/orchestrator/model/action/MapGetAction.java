@@ -0,0 +1,29 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.model.BodyFunction;
+import org.jetbrains.research.libsl.nodes.ActionUsage;
+import org.springframework.javapoet.CodeBlock;
+
+/**
+ * MAP_GET_ACTION(map, key, target): значение map по key. Если ключа нет, target не меняется.
+ */
+public class MapGetAction extends CollectionAction {
+
+    public MapGetAction() {
+        super("MAP_GET_ACTION", 3);
+    }
+
+    @Override
+    public CodeBlock generateCode(ActionUsage actionUsage, BodyFunction bodyFunction) {
+        CodeBlock.Builder cbb = CodeBlock.builder();
+        String value = bodyFunction.newLocalName("value");
+
+        cbb.addStatement("var $L = $L.get($L)", value,
+                bodyFunction.resolveExpression(argument(actionUsage, 0), true),
+                bodyFunction.resolveExpression(argument(actionUsage, 1), true));
+        cbb.beginControlFlow("if ($L != null)", value);
+        cbb.add(bodyFunction.assign(argument(actionUsage, 2), value));
+        cbb.endControlFlow();
+        return cbb.build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.nvp.orchestrator.model.action;
+
+/**
+ * MAX_ACTION(list, target): наибольший элемент list.
+ */
+public class MaxAction extends ExtremumAction {
+
+    public MaxAction() {
+        super("MAX_ACTION", ">");
+    }
+}
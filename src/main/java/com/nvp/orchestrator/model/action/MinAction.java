@@ -0,0 +1,11 @@
+package com.nvp.orchestrator.model.action;
+
+/**
+ * MIN_ACTION(list, target): наименьший элемент list.
+ */
+public class MinAction extends ExtremumAction {
+
+    public MinAction() {
+        super("MIN_ACTION", "<");
+    }
+}
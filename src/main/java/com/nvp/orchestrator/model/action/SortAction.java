@@ -0,0 +1,22 @@
+package com.nvp.orchestrator.model.action;
+
+import com.nvp.orchestrator.model.BodyFunction;
+import org.jetbrains.research.libsl.nodes.ActionUsage;
+import org.springframework.javapoet.CodeBlock;
+
+/**
+ * SORT_ACTION(list): сортирует list на месте в естественном порядке.
+ */
+public class SortAction extends CollectionAction {
+
+    public SortAction() {
+        super("SORT_ACTION", 1);
+    }
+
+    @Override
+    public CodeBlock generateCode(ActionUsage actionUsage, BodyFunction bodyFunction) {
+        return CodeBlock.builder()
+                .addStatement("$L.sort(null)", bodyFunction.resolveExpression(argument(actionUsage, 0), true))
+                .build();
+    }
+}
@@ -1,12 +1,16 @@
 package com.nvp.orchestrator.service.generator;
 
+import com.nvp.orchestrator.enums.ResponseMode;
 import com.nvp.orchestrator.exceptions.GenerationServiceException;
+import com.nvp.orchestrator.model.ResponseExample;
 import com.nvp.orchestrator.service.implementation.generator.RandomApiImplementationGenerator;
+import com.nvp.orchestrator.service.util.OpenApiExamples;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.nio.file.Path;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -14,6 +18,10 @@ public final class RandomServiceGenerator extends ServiceGenerator {
 
     @Override
     public String generateImplementation(MultipartFile file) {
+        return generateImplementation(file, ResponseMode.RANDOM);
+    }
+
+    public String generateImplementation(MultipartFile file, ResponseMode mode) {
         validateFile(file);
 
         Path workingDirectory = generateWorkingDirectory();
@@ -22,13 +30,15 @@ public final class RandomServiceGenerator extends ServiceGenerator {
 
         generateServiceFromOpenApi(workingDirectory, openapiSpec);
 
-        generateApi(workingDirectory);
+        Map<String, ResponseExample> examples = mode == ResponseMode.EXAMPLES ? OpenApiExamples.extract(openapiSpec) : Map.of();
+
+        generateApi(workingDirectory, examples);
 
         return buildAndDeployService(workingDirectory);
     }
 
-    private static void generateApi(Path tempDir) {
-        try (RandomApiImplementationGenerator generator = new RandomApiImplementationGenerator(tempDir)) {
+    private static void generateApi(Path tempDir, Map<String, ResponseExample> examples) {
+        try (RandomApiImplementationGenerator generator = new RandomApiImplementationGenerator(tempDir, examples)) {
             generator.generate();
         } catch (Exception e) {
             log.error("Failed to generate API implementations", e);
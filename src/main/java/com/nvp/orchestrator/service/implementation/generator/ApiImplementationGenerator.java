@@ -7,14 +7,16 @@ import jakarta.validation.constraints.NotNull;
 import kotlin.Pair;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.reflections.Reflections;
-import org.reflections.scanners.Scanner;
-import org.reflections.scanners.Scanners;
-import org.reflections.util.ConfigurationBuilder;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.javapoet.*;
 import org.springframework.javapoet.MethodSpec.Builder;
+import org.springframework.web.bind.annotation.RequestMapping;
 
 import javax.lang.model.element.Modifier;
 import java.io.Closeable;
@@ -23,30 +25,60 @@ import java.lang.reflect.*;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.nvp.orchestrator.model.GeneratedRuntime.RANDOM_DATA;
+import static com.nvp.orchestrator.model.GeneratedRuntime.RESPONSE_POOLS;
+import static com.nvp.orchestrator.model.GeneratedRuntime.STREAMING_RESPONSES;
 
 @Slf4j
 @RequiredArgsConstructor
 public sealed abstract class ApiImplementationGenerator implements Closeable permits ContractsApiImplementationGenerator, RandomApiImplementationGenerator {
 
-    protected static final int MAX_COLLECTION_SIZE = 10;
+    private static final String DEFAULT_STRING_PATTERN = "[a-zA-Z0-9]{0,10}";
+    private static final String API_PACKAGE = "org.openapitools.api";
+    protected static final ClassName MODEL_FACTORY = ClassName.get(API_PACKAGE, "RandomModelFactory");
+    private static final ClassName MODEL_SERIALIZERS = ClassName.get(API_PACKAGE, "ModelSerializers");
     protected final Path generatedProjectPath;
     protected URLClassLoader urlClassLoader;
-
+    // Регулярные выражения, разбираются один раз в статических полях фабрики
+    private final Map<String, String> patternFields = new ConcurrentHashMap<>();
+    // Фабричный метод на каждый класс модели
+    private final Map<Class<?>, MethodSpec> factoryMethods = new ConcurrentHashMap<>();
+    // Классы, метод для которых уже строится или построен, чтобы рекурсивные модели не зацикливали генерацию
+    private final Set<Class<?>> reservedFactoryMethods = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Generates implementations of all discovered API interfaces in parallel on a dedicated fork-join pool.
+     * Shared state (the model factory and regex fields) is concurrent; everything else is per interface.
+     */
     @SneakyThrows
     public void generate() {
-        Collection<Class<?>> apiClasses = getClassesFromPackage();
+        List<Class<?>> apiInterfaces = getApiInterfaces();
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(apiInterfaces.size(), Runtime.getRuntime().availableProcessors())));
+        try {
+            pool.submit(() -> apiInterfaces.parallelStream().forEach(this::generateImplementationForInterface)).get();
+        } catch (ExecutionException e) {
+            // Исключение генерации пробрасываем как есть, чтобы его обработал GlobalExceptionHandler
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
 
-        apiClasses.stream()
-                .filter(apiInterface -> apiInterface.isInterface() && apiInterface.getSimpleName().endsWith("Api"))
-                .forEach(this::generateImplementationForInterface);
+        saveModelFactory();
+        saveModelSerializers();
     }
 
     protected static Pair<Builder, Type> prepareSignature(Method method) {
@@ -67,23 +99,63 @@ public sealed abstract class ApiImplementationGenerator implements Closeable per
         return new Pair<>(methodBuilder, returnType);
     }
 
-    private Collection<Class<?>> getClassesFromPackage() throws MalformedURLException {
+    private List<Class<?>> getApiInterfaces() throws MalformedURLException {
         urlClassLoader = new URLClassLoader(new URL[]{generatedProjectPath.resolve("target/classes").toUri().toURL()});
         Path classesPath = generatedProjectPath.resolve("target/classes/org/openapitools/api");
-        URL url = classesPath.toUri().toURL();
-        Scanner scanner = Scanners.SubTypes.filterResultsBy(s -> true);
+        return ApiInterfaceScanner.scan(classesPath, API_PACKAGE, urlClassLoader);
+    }
 
-        Reflections reflections = new Reflections(
-                new ConfigurationBuilder()
-                        .setUrls(url)
-                        .setScanners(scanner)
-                        .setClassLoaders(new URLClassLoader[]{urlClassLoader})
-        );
+    abstract protected void generateImplementationForInterface(Class<?> apiInterface);
 
-        return reflections.getSubTypesOf(Object.class);
+    /**
+     * Returns a reference to a static pre-parsed RgxGen field of the model factory for the given regex.
+     */
+    protected String patternField(String regex) {
+        String fieldName = patternFields.computeIfAbsent(regex, ApiImplementationGenerator::patternFieldName);
+        return CodeBlock.of("$T.$L", MODEL_FACTORY, fieldName).toString();
     }
 
-    abstract protected void generateImplementationForInterface(Class<?> apiInterface);
+    // Имя выводится из самого выражения, а не из порядка обращений параллельных потоков
+    private static String patternFieldName(String regex) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(regex.getBytes(StandardCharsets.UTF_8));
+            return "PATTERN_" + HexFormat.of().withUpperCase().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void saveModelFactory() {
+        TypeSpec.Builder factoryBuilder = TypeSpec.classBuilder(MODEL_FACTORY)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+
+        // Порядок заполнения зависит от потоков, поэтому поля и методы сортируются для воспроизводимого вывода
+        patternFields.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> factoryBuilder.addField(
+                        FieldSpec.builder(RgxGen.class, entry.getValue(), Modifier.STATIC, Modifier.FINAL)
+                                .initializer("$T.pattern($S)", RANDOM_DATA, entry.getKey())
+                                .build()));
+        sortedFactoryMethods().values().forEach(factoryBuilder::addMethod);
+
+        saveGeneratedClass(factoryBuilder, API_PACKAGE);
+        log.info("Сгенерирована фабрика моделей: {} методов", factoryMethods.size());
+    }
+
+    private void saveModelSerializers() {
+        TypeSpec.Builder moduleBuilder = new ModelSerializerGenerator(MODEL_SERIALIZERS, MODEL_FACTORY).generate(sortedFactoryMethods());
+        saveGeneratedClass(moduleBuilder, API_PACKAGE);
+        log.info("Сгенерирован модуль сериализаторов моделей");
+    }
+
+    private Map<Class<?>, MethodSpec> sortedFactoryMethods() {
+        Map<Class<?>, MethodSpec> sorted = new LinkedHashMap<>();
+        factoryMethods.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(Class::getName)))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
 
     protected void saveGeneratedClass(TypeSpec.Builder classBuilder, String packageName) {
         TypeSpec implType = classBuilder.build();
@@ -104,6 +176,72 @@ public sealed abstract class ApiImplementationGenerator implements Closeable per
         return apiInterface.getSimpleName().substring(0, apiInterface.getSimpleName().length() - 3);
     }
 
+    /**
+     * Adds a body that returns a random value of the return type.
+     * Array responses can be switched to streaming per endpoint at runtime.
+     */
+    protected void addRandomReturn(MethodSpec.Builder methodBuilder, Method method, Type returnType) {
+        if (returnType instanceof ParameterizedType parameterizedType
+                && parameterizedType.getRawType() == ResponseEntity.class
+                && parameterizedType.getActualTypeArguments()[0] instanceof ParameterizedType bodyType
+                && bodyType.getRawType() == List.class) {
+            methodBuilder.beginControlFlow("if ($T.isRequested())", STREAMING_RESPONSES);
+            methodBuilder.addStatement("$T.writeArray(() -> $L)", STREAMING_RESPONSES, generateRandomGeneratedObject(bodyType.getActualTypeArguments()[0], 1));
+            methodBuilder.addStatement("return null");
+            methodBuilder.endControlFlow();
+        }
+
+        // Пул заранее сериализованных тел, лямбда не захватывает параметры и создаётся один раз
+        if (returnType instanceof ParameterizedType parameterizedType
+                && parameterizedType.getRawType() == ResponseEntity.class
+                && parameterizedType.getActualTypeArguments()[0] != Void.class) {
+            methodBuilder.beginControlFlow("if ($T.serve(() -> $L, $L, $S))", RESPONSE_POOLS,
+                    generateRandomGeneratedObject(parameterizedType.getActualTypeArguments()[0]), declaredStatus(method), declaredContentType(method));
+            methodBuilder.addStatement("return null");
+            methodBuilder.endControlFlow();
+        }
+
+        methodBuilder.addStatement("return $L", generateRandomResponse(method, returnType));
+    }
+
+    // Тот же статус, что у пула ответов: включение пула не должно менять код ответа
+    private CodeBlock generateRandomResponse(Method method, Type returnType) {
+        if (returnType instanceof ParameterizedType parameterizedType && parameterizedType.getRawType() == ResponseEntity.class) {
+            Type responseType = parameterizedType.getActualTypeArguments()[0];
+            int status = declaredStatus(method);
+            return responseType == Void.class
+                    ? CodeBlock.of("$T.status($L).build()", ResponseEntity.class, status)
+                    : CodeBlock.of("$T.status($L).body($L)", ResponseEntity.class, status, generateRandomGeneratedObject(responseType));
+        }
+        return generateRandomGeneratedObject(returnType);
+    }
+
+    // Код успешного ответа из спецификации, иначе 200
+    private static int declaredStatus(Method method) {
+        Operation operation = method.getAnnotation(Operation.class);
+        if (operation != null) {
+            for (ApiResponse response : operation.responses()) {
+                if (response.responseCode().matches("2\\d\\d")) {
+                    return Integer.parseInt(response.responseCode());
+                }
+            }
+        }
+        return HttpStatus.OK.value();
+    }
+
+    // Тело пула сериализуется в JSON, поэтому берётся JSON-тип из produces
+    private static String declaredContentType(Method method) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        if (mapping != null) {
+            for (String produces : mapping.produces()) {
+                if (produces.contains("json")) {
+                    return produces;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON_VALUE;
+    }
+
     protected CodeBlock generateRandomGeneratedObject(Type returnType) {
         return generateRandomGeneratedObject(returnType, 0);
     }
@@ -113,27 +251,27 @@ public sealed abstract class ApiImplementationGenerator implements Closeable per
         if (returnType instanceof Class<?> returnClass) {
             // Обработка примитивов и известных типов
             if (returnClass == Integer.class) {
-                return CodeBlock.builder().add("new $T().nextInt(1_000_000)", Random.class).build();
+                return CodeBlock.builder().add("$T.nextInt(1_000_000)", RANDOM_DATA).build();
             }
 
             if (returnClass == Long.class) {
-                return CodeBlock.builder().add("new $T().nextLong(1_000_000)", Random.class).build();
+                return CodeBlock.builder().add("$T.nextLong(1_000_000)", RANDOM_DATA).build();
             }
 
             if (returnClass == Double.class) {
-                return CodeBlock.builder().add("new $T().nextDouble() * 1_000_000", Random.class).build();
+                return CodeBlock.builder().add("$T.nextDouble() * 1_000_000", RANDOM_DATA).build();
             }
 
             if (returnClass == Float.class) {
-                return CodeBlock.builder().add("new $T().nextFloat() * 1_000_000", Random.class).build();
+                return CodeBlock.builder().add("$T.nextFloat() * 1_000_000", RANDOM_DATA).build();
             }
 
             if (returnClass == Boolean.class) {
-                return CodeBlock.builder().add("new $T().nextBoolean()", Random.class).build();
+                return CodeBlock.builder().add("$T.nextBoolean()", RANDOM_DATA).build();
             }
 
             if (returnClass == String.class) {
-                return CodeBlock.builder().add("$T.parse($S).generate()", RgxGen.class, "[a-zA-Z0-9]{0,10}").build();
+                return CodeBlock.builder().add("$T.string($L)", RANDOM_DATA, patternField(DEFAULT_STRING_PATTERN)).build();
             }
 
             if (List.of(LocalDate.class, LocalDateTime.class, ZonedDateTime.class, OffsetDateTime.class).contains(returnClass)) {
@@ -165,13 +303,10 @@ public sealed abstract class ApiImplementationGenerator implements Closeable per
             if (rawType == List.class) {
                 Type elementType = parameterizedType.getActualTypeArguments()[0];
                 return CodeBlock.builder()
-                        .add("$T.range(0, new $T().nextInt($L)).mapToObj($L -> $L).collect($T.toList())",
-                                IntStream.class,
-                                Random.class,
-                                depth == 0 ? MAX_COLLECTION_SIZE : "1, " + MAX_COLLECTION_SIZE,
-                                "_i".repeat(depth + 1),
-                                generateRandomGeneratedObject(elementType, depth + 1),
-                                Collectors.class
+                        .add("$T.list($L, () -> $L)",
+                                RANDOM_DATA,
+                                depth == 0 ? 0 : 1,
+                                generateRandomGeneratedObject(elementType, depth + 1)
                         )
                         .build();
             }
@@ -180,16 +315,10 @@ public sealed abstract class ApiImplementationGenerator implements Closeable per
                 Type keyType = parameterizedType.getActualTypeArguments()[0];
                 Type valueType = parameterizedType.getActualTypeArguments()[1];
                 return CodeBlock.builder()
-                        .add("$T.range(0, new $T().nextInt($L)).mapToObj($L -> $L).distinct().collect($T.toMap($L -> $L, $L -> $L))",
-                                IntStream.class,
-                                Random.class,
-                                depth == 0 ? MAX_COLLECTION_SIZE : "1, " + MAX_COLLECTION_SIZE,
-                                "_Map_i".repeat(depth + 1),
+                        .add("$T.map($L, () -> $L, () -> $L)",
+                                RANDOM_DATA,
+                                depth == 0 ? 0 : 1,
                                 generateRandomGeneratedObject(keyType, depth + 1),
-                                Collectors.class,
-                                "_Map_left_i".repeat(depth + 1),
-                                "_Map_left_i".repeat(depth + 1),
-                                "_Map_right_i".repeat(depth + 1),
                                 generateRandomGeneratedObject(valueType, depth + 1)
                         )
                         .build();
@@ -200,34 +329,57 @@ public sealed abstract class ApiImplementationGenerator implements Closeable per
         return CodeBlock.builder().add("null").build();
     }
 
-    // Генерация значения с использованием случайного конструктора
+    // Вызов фабричного метода модели; сам метод генерируется один раз на класс
     private CodeBlock generateConstructorValue(Class<?> customClass) {
+        String methodName = "random" + customClass.getSimpleName();
+
+        // Резервируем класс до построения тела: рекурсивные модели и другие потоки получают только ссылку на метод
+        if (reservedFactoryMethods.add(customClass)) {
+            factoryMethods.put(customClass, generateFactoryMethod(customClass, methodName));
+        }
+
+        return CodeBlock.of("$T.$L()", MODEL_FACTORY, methodName);
+    }
+
+    private MethodSpec generateFactoryMethod(Class<?> customClass, String methodName) {
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(methodName)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(customClass);
+
         Constructor<?>[] constructors = customClass.getDeclaredConstructors();
 
         // Фильтруем только доступные конструкторы
         List<Constructor<?>> accessibleConstructors = new ArrayList<>(Arrays.asList(constructors));
 
         if (accessibleConstructors.isEmpty()) {
-            return CodeBlock.builder().add("null").build();
+            return methodBuilder.addStatement("return null").build();
         }
 
         // Выбираем случайный конструктор с максимальным количеством параметров для public конструкторов
         Constructor<?> randomConstructor = getConstructor(customClass, accessibleConstructors);
 
         // Генерируем параметры для конструктора
-        String constructorArgs = getConstructorArgs(randomConstructor);
-
-        // Возвращаем строку для вызова конструктора
-        return CodeBlock.builder().add("new $T($L)", customClass, constructorArgs).build();
+        CodeBlock constructorArgs = getConstructorArgs(randomConstructor);
+
+        // Бюджет глубины и числа объектов обрывает рекурсивные модели на null
+        return methodBuilder
+                .beginControlFlow("if (!$T.enter())", RANDOM_DATA)
+                .addStatement("return null")
+                .endControlFlow()
+                .beginControlFlow("try")
+                .addStatement("return new $T($L)", customClass, constructorArgs)
+                .nextControlFlow("finally")
+                .addStatement("$T.exit()", RANDOM_DATA)
+                .endControlFlow()
+                .build();
     }
 
     @NotNull
-    private String getConstructorArgs(Constructor<?> randomConstructor) {
+    private CodeBlock getConstructorArgs(Constructor<?> randomConstructor) {
         return Arrays.stream(randomConstructor.getParameters())
                 .map(Parameter::getParameterizedType)
                 .map(this::generateRandomGeneratedObject)
-                .map(CodeBlock::toString)
-                .collect(Collectors.joining(", "));
+                .collect(CodeBlock.joining(", "));
     }
 
     private static Constructor<?> getConstructor(Class<?> customClass, List<Constructor<?>> accessibleConstructors) {
@@ -0,0 +1,86 @@
+package com.nvp.orchestrator.service.implementation.generator;
+
+import com.nvp.orchestrator.exceptions.GenerationImplementationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Находит интерфейсы *Api в скомпилированном пакете по заголовкам class-файлов.
+ * Читается только пул констант и флаги доступа, загружаются через class loader лишь подходящие классы.
+ */
+@Slf4j
+final class ApiInterfaceScanner {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final String API_CLASS_SUFFIX = "Api.class";
+
+    private ApiInterfaceScanner() {
+    }
+
+    /**
+     * @param packageDirectory каталог пакета внутри target/classes
+     * @param packageName      имя пакета, соответствующее каталогу
+     */
+    static List<Class<?>> scan(Path packageDirectory, String packageName, ClassLoader classLoader) {
+        long start = System.nanoTime();
+        List<Class<?>> apiInterfaces = new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(packageDirectory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(API_CLASS_SUFFIX)).toList()) {
+                if (isInterface(file)) {
+                    String simpleName = file.getFileName().toString().replace(".class", "");
+                    apiInterfaces.add(classLoader.loadClass(packageName + "." + simpleName));
+                }
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            log.error("Failed to discover API interfaces in {}", packageDirectory, e);
+            throw new GenerationImplementationException("Failed to discover API interfaces: " + e.getMessage());
+        }
+
+        log.info("Найдено API-интерфейсов: {} за {} мс", apiInterfaces.size(), (System.nanoTime() - start) / 1_000_000);
+        return apiInterfaces;
+    }
+
+    private static boolean isInterface(Path classFile) throws IOException {
+        try (InputStream stream = Files.newInputStream(classFile);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != MAGIC) {
+                return false;
+            }
+            in.skipBytes(4); // minor_version, major_version
+            skipConstantPool(in);
+            int accessFlags = in.readUnsignedShort();
+            return (accessFlags & ACC_INTERFACE) != 0 && (accessFlags & ACC_ANNOTATION) == 0;
+        }
+    }
+
+    private static void skipConstantPool(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> in.skipBytes(in.readUnsignedShort()); // Utf8
+                case 7, 8, 16, 19, 20 -> in.skipBytes(2); // Class, String, MethodType, Module, Package
+                case 15 -> in.skipBytes(3); // MethodHandle
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                case 5, 6 -> {
+                    // Long и Double занимают два слота пула
+                    in.skipBytes(8);
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.nvp.orchestrator.service.implementation.generator;
+
+import com.nvp.orchestrator.model.ContractIntervals;
+import com.nvp.orchestrator.model.ModelData;
+import com.nvp.orchestrator.model.ModelVariable;
+import com.nvp.orchestrator.model.SolverContractTranslator;
+import lombok.extern.slf4j.Slf4j;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.expression.discrete.arithmetic.ArExpression;
+import org.chocosolver.solver.expression.discrete.relational.ReExpression;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.jetbrains.research.libsl.nodes.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Решает при генерации модели контрактов, которые не зависят от параметров запроса.
+ * Поддерживаются только целочисленные и логические переменные; для остальных моделей возвращается null
+ * и решение остаётся на стороне сгенерированного сервиса.
+ */
+@Slf4j
+final class ContractPreSolver {
+
+    // Таблица попадает в класс строковой константой Base64: 4000 ячеек дают ~21 КБ при пределе константы в 64 КБ
+    private static final int MAX_CELLS = 4000;
+    private static final int MAX_SOLUTIONS = 1000;
+    private static final String TIME_LIMIT = "5s";
+    private static final long SEED = 42;
+
+    private ContractPreSolver() {
+    }
+
+    /**
+     * @return найденные решения или null, если модель нельзя решить заранее
+     */
+    static PreSolved solve(ModelData modelData) {
+        List<ModelVariable> variables = modelData.getSolverVariables();
+        if (variables.isEmpty() || !modelData.getSolverParameters().isEmpty()
+                || variables.stream().anyMatch(mv -> mv.type() != Integer.class && mv.type() != Boolean.class)) {
+            return null;
+        }
+
+        Model model = new Model();
+        Map<String, IntVar> vars = new LinkedHashMap<>();
+        for (ModelVariable mv : variables) {
+            ContractIntervals.Interval domain = modelData.getDomain(mv);
+            vars.put(mv.name(), mv.type() == Boolean.class
+                    ? model.boolVar(mv.name())
+                    : model.intVar(mv.name(), (int) domain.lo(), (int) domain.hi()));
+        }
+
+        ChocoTranslator translator = new ChocoTranslator(vars);
+        List<ReExpression> constraints = new ArrayList<>();
+        for (Expression expression : modelData.getSolverContractExpressions()) {
+            Object constraint = ModelData.translateSolverContract(expression, translator);
+            if (!(constraint instanceof ReExpression reExpression)) {
+                log.debug("Contract {} cannot be pre-solved", expression.dumpToString());
+                return null;
+            }
+            constraints.add(reExpression);
+        }
+        constraints.forEach(ReExpression::post);
+
+        IntVar[] searchVars = vars.values().toArray(IntVar[]::new);
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.randomSearch(searchVars, SEED));
+        solver.limitTime(TIME_LIMIT);
+
+        int maxSolutions = Math.max(1, Math.min(MAX_SOLUTIONS, MAX_CELLS / searchVars.length));
+        List<int[]> rows = new ArrayList<>();
+        while (rows.size() < maxSolutions && solver.solve()) {
+            int[] row = new int[searchVars.length];
+            for (int i = 0; i < searchVars.length; i++) {
+                row[i] = searchVars[i].getValue();
+            }
+            rows.add(row);
+        }
+
+        if (rows.isEmpty() && solver.isStopCriterionMet()) {
+            // Время вышло раньше первого решения: пусть ищет сервис
+            return null;
+        }
+
+        log.info("Pre-solved {} solutions for {} variables", rows.size(), searchVars.length);
+        return new PreSolved(List.copyOf(vars.keySet()), rows);
+    }
+
+    /**
+     * Builds solver objects the same way the generated code calls them: {@code left.method(right)}.
+     * Anything the generated service could not express on int variables yields null.
+     */
+    private record ChocoTranslator(Map<String, IntVar> vars) implements SolverContractTranslator<Object> {
+
+        @Override
+        public Object variable(String name) {
+            IntVar var = vars.get(name);
+            return var != null ? var : unsupported("variable " + name);
+        }
+
+        @Override
+        public Object literal(Number value) {
+            return value instanceof Integer ? value : unsupported("literal " + value);
+        }
+
+        @Override
+        public Object operation(Object left, String method, Object right) {
+            if (!(left instanceof ArExpression l)) {
+                return unsupported("literal as the receiver of " + method);
+            }
+            if (right instanceof Integer constant) {
+                return switch (method) {
+                    case "add" -> l.add(constant);
+                    case "sub" -> l.sub(constant);
+                    case "mul" -> l.mul(constant);
+                    case "div" -> l.div(constant);
+                    case "gt" -> l.gt(constant);
+                    case "lt" -> l.lt(constant);
+                    case "ge" -> l.ge(constant);
+                    case "le" -> l.le(constant);
+                    case "eq" -> l.eq(constant);
+                    case "ne" -> l.ne(constant);
+                    default -> unsupported(method + " with a constant");
+                };
+            }
+
+            ArExpression r = (ArExpression) right;
+            return switch (method) {
+                case "and", "or" -> l instanceof ReExpression lr && r instanceof ReExpression rr
+                        ? (method.equals("and") ? lr.and(rr) : lr.or(rr))
+                        : unsupported(method + " over non-relations");
+                case "add" -> l.add(r);
+                case "sub" -> l.sub(r);
+                case "mul" -> l.mul(r);
+                case "div" -> l.div(r);
+                case "gt" -> l.gt(r);
+                case "lt" -> l.lt(r);
+                case "ge" -> l.ge(r);
+                case "le" -> l.le(r);
+                case "eq" -> l.eq(r);
+                case "ne" -> l.ne(r);
+                default -> unsupported(method);
+            };
+        }
+
+        @Override
+        public Object unsupported(String description) {
+            log.debug("Cannot pre-solve: unsupported {}", description);
+            return null;
+        }
+    }
+
+    record PreSolved(List<String> names, List<int[]> rows) {
+
+        /**
+         * Строки таблицы построчно в big-endian int, закодированные в Base64, — формат {@code SolutionTable}.
+         */
+        String encodedRows() {
+            ByteBuffer buffer = ByteBuffer.allocate(rows.size() * names.size() * Integer.BYTES);
+            for (int[] row : rows) {
+                for (int value : row) {
+                    buffer.putInt(value);
+                }
+            }
+            return Base64.getEncoder().encodeToString(buffer.array());
+        }
+    }
+}
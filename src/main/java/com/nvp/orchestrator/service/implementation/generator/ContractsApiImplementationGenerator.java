@@ -2,19 +2,21 @@ package com.nvp.orchestrator.service.implementation.generator;
 
 import com.nvp.orchestrator.exceptions.GenerationImplementationException;
 import com.nvp.orchestrator.model.BodyFunction;
+import com.nvp.orchestrator.model.ContractIntervals;
+import com.nvp.orchestrator.model.LibraryIndex;
+import com.nvp.orchestrator.model.LinearSystem;
 import com.nvp.orchestrator.model.ModelData;
 import com.nvp.orchestrator.model.ModelVariable;
+import com.nvp.orchestrator.model.ProcedureTemplates;
 import kotlin.Pair;
 import lombok.extern.slf4j.Slf4j;
 import org.chocosolver.solver.Model;
-import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.RealVar;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import org.jetbrains.research.libsl.nodes.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.javapoet.*;
@@ -31,19 +33,32 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import static com.nvp.orchestrator.model.GeneratedRuntime.LINEAR_SAMPLER;
+import static com.nvp.orchestrator.model.GeneratedRuntime.RANDOM_DATA;
+import static com.nvp.orchestrator.model.GeneratedRuntime.SOLUTION_POOL;
+import static com.nvp.orchestrator.model.GeneratedRuntime.SOLUTION_TABLE;
+import static com.nvp.orchestrator.model.GeneratedRuntime.SOLUTION_VALUES;
+import static com.nvp.orchestrator.model.GeneratedRuntime.SOLVER_BUDGET_EXCEEDED;
+
 @Slf4j
 public final class ContractsApiImplementationGenerator extends ApiImplementationGenerator {
 
     private static final String HAS_BODY_ANNOTATION = "HasBody";
+    // Максимальное число наборов параметров в кэше решений эндпоинта
+    private static final int MAX_SOLUTION_KEYS = 1024;
+    // Сколько решений собирается для одного набора параметров, прежде чем солвер перестаёт вызываться
+    private static final int SOLUTIONS_PER_KEY = 16;
 
-    private final Library library;
+    private final LibraryIndex libraryIndex;
+    private final ProcedureTemplates procedures;
 
     public ContractsApiImplementationGenerator(Path generatedProjectPath, Library library) {
         super(generatedProjectPath);
-        this.library = library;
+        this.libraryIndex = library == null ? null : new LibraryIndex(library);
+        this.procedures = library == null ? null : new ProcedureTemplates(library);
     }
 
-    private MethodSpec generateContractsMethodStub(Method method, Function function) {
+    private MethodSpec generateContractsMethodStub(Method method, Function function, TypeSpec.Builder classBuilder, String implClassName) {
         List<Contract> contracts = function.getContracts();
 
         if (contracts.isEmpty()) {
@@ -57,7 +72,8 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
 
         List<Contract> requires = getContractList(contracts, ContractKind.REQUIRES);
         List<Contract> ensures = getContractList(contracts, ContractKind.ENSURES);
-        return generateMethodResponseCodeBlockFromContracts(methodBuilder, returnType, requires, ensures, method.getName(), method.getParameters());
+        return generateMethodResponseCodeBlockFromContracts(methodBuilder, classBuilder, returnType, requires, ensures,
+                implClassName, method.getName(), method.getParameters());
     }
 
     private MethodSpec generateBodyMethodStub(Method method, Function function) {
@@ -70,7 +86,7 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
             return generateRandomMethodStub(method);
         }
 
-        BodyFunction bodyFunction = new BodyFunction(function, returnType, urlClassLoader, library);
+        BodyFunction bodyFunction = new BodyFunction(function, returnType, urlClassLoader, procedures);
 
         bodyFunction.generateBodyFunction(methodBuilder);
 
@@ -87,24 +103,21 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
                 .addAnnotation(org.springframework.web.bind.annotation.RestController.class)
                 .addSuperinterface(apiInterface);
 
+        Automaton automaton = libraryIndex == null ? null : libraryIndex.findAutomaton(apiInterfaceName);
+
         // Генерируем методы интерфейса
         for (Method method : apiInterface.getMethods()) {
             // if it has contracts use them to generate method body
-            if (library != null) {
-                Automaton automaton = getAutomaton(apiInterfaceName, library);
-                if (automaton != null) {
-                    Function function = getFunction(method, automaton);
-                    if (function != null) {
-                        boolean isMethodHasBody = isMethodHasBody(function);
-                        if (isMethodHasBody) {
-                            classBuilder.addMethod(generateBodyMethodStub(method, function));
-                        } else {
-                            FieldSpec.Builder fieldBuilder = FieldSpec.builder(Integer.class, method.getName(), Modifier.PRIVATE).initializer("1");
-                            classBuilder.addField(fieldBuilder.build());
-                            classBuilder.addMethod(generateContractsMethodStub(method, function));
-                        }
-                        continue;
+            if (automaton != null) {
+                Function function = libraryIndex.findFunction(automaton, method.getName());
+                if (function != null) {
+                    boolean isMethodHasBody = isMethodHasBody(function);
+                    if (isMethodHasBody) {
+                        classBuilder.addMethod(generateBodyMethodStub(method, function));
+                    } else {
+                        classBuilder.addMethod(generateContractsMethodStub(method, function, classBuilder, implClassName));
                     }
+                    continue;
                 }
             }
 
@@ -123,7 +136,7 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
         Type returnType = methodBuilderAndReturnType.getSecond();
 
         // Добавляем заглушку для возвращаемого значения
-        methodBuilder.addStatement("return $L", generateRandomGeneratedObject(returnType));
+        addRandomReturn(methodBuilder, method, returnType);
 
         return methodBuilder.build();
     }
@@ -137,25 +150,15 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
         return contracts.stream().filter(c -> c.getKind().equals(requires)).toList();
     }
 
-    @Nullable
-    private static Function getFunction(Method method, Automaton automaton) {
-        return automaton.getFunctions().stream().filter(f -> method.getName().toLowerCase().contains(f.getName().toLowerCase())).findFirst().orElse(null);
-    }
-
-    @Nullable
-    private static Automaton getAutomaton(String interfaceName, Library library) {
-        return library.getAutomata().stream().filter(a -> a.getName().equals(interfaceName)).findFirst().orElse(null);
-    }
-
     private MethodSpec generateMethodResponseCodeBlockFromContracts(
-            MethodSpec.Builder methodBuilder, Type returnType, List<Contract> requires, List<Contract> ensures, String methodName, Parameter[] parameters) {
+            MethodSpec.Builder methodBuilder, TypeSpec.Builder classBuilder, Type returnType, List<Contract> requires, List<Contract> ensures, String implClassName, String methodName, Parameter[] parameters) {
         CodeBlock.Builder cbb = CodeBlock.builder();
 
         generateCheckRequires(requires, cbb);
 
         Class<?> returnClass = getReturnClassFromResponseEntity(returnType);
 
-        generateResponseResultBasedOnContracts(cbb, returnClass, ensures, methodName, parameters);
+        generateResponseResultBasedOnContracts(cbb, classBuilder, returnClass, ensures, requires, implClassName, methodName, parameters);
 
         return methodBuilder.addCode(cbb.build()).build();
     }
@@ -189,32 +192,43 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
         throw new GenerationImplementationException("No return class can be inferred for " + returnType.getTypeName());
     }
 
-    private void generateResponseResultBasedOnContracts(CodeBlock.Builder cbb, Class<?> returnClass, List<Contract> ensures, String methodName, Parameter[] parameters) {
-        ModelData modelData = new ModelData(returnClass, ensures, parameters);
-
-        createModel(cbb);
-
-        createModelVariables(cbb, modelData);
-
-        generateContracts(cbb, modelData);
-
-        createSolverAndFindSolutions(cbb, methodName, modelData);
+    private void generateResponseResultBasedOnContracts(CodeBlock.Builder cbb, TypeSpec.Builder classBuilder, Class<?> returnClass,
+                                                        List<Contract> ensures, List<Contract> requires, String implClassName, String methodName, Parameter[] parameters) {
+        ModelData modelData = new ModelData(returnClass, ensures, requires, parameters);
+
+        createStringVariables(cbb, modelData);
+
+        cbb.addStatement("$T solution", SOLUTION_VALUES);
+        ContractPreSolver.PreSolved preSolved = ContractPreSolver.solve(modelData);
+        LinearSystem linearSystem = preSolved == null ? modelData.classifyLinear() : null;
+        if (preSolved != null) {
+            takePreSolvedSolution(cbb, classBuilder, methodName, preSolved);
+        } else if (linearSystem != null) {
+            sampleLinearSolution(cbb, classBuilder, methodName, modelData, linearSystem);
+            // Солвер нужен, только если распространение границ не нашло решения
+            cbb.beginControlFlow("if (solution == null)");
+            findNextSolution(cbb, classBuilder, implClassName, methodName, modelData, returnClass);
+            cbb.endControlFlow();
+        } else {
+            findNextSolution(cbb, classBuilder, implClassName, methodName, modelData, returnClass);
+        }
 
         checkIsSolutionExists(cbb);
 
+        generateAssignmentContracts(cbb, modelData);
+
         restoreObjectWithSolution(cbb, modelData, returnClass);
 
         returnAnswer(cbb);
     }
 
     private static void createModel(CodeBlock.Builder cbb) {
-        cbb.add("\n// Create model\n");
+        cbb.add("// Create model\n");
         cbb.addStatement("$T model = new $T()", Model.class, Model.class);
     }
 
-    private static void generateContracts(CodeBlock.Builder cbb, ModelData modelData) {
-        cbb.add("\n// Add contracts\n");
-        cbb.add(modelData.generateModelContracts());
+    private void generateAssignmentContracts(CodeBlock.Builder cbb, ModelData modelData) {
+        cbb.add(modelData.generateAssignmentContracts(this::patternField));
     }
 
     private static void checkIsSolutionExists(CodeBlock.Builder cbb) {
@@ -228,19 +242,96 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
         codeBlockBuilder.addStatement("return $T.ok(answer)", ResponseEntity.class);
     }
 
-    private static void createSolverAndFindSolutions(Builder cbb, String methodName, ModelData modelData) {
-        cbb.add("\n// Create solver and find solution\n");
+    private static String solutionPoolName(String methodName) {
+        return methodName + "Solutions";
+    }
+
+    /**
+     * Contracts that do not depend on parameters are solved during generation;
+     * the handler picks a row of the embedded table and never touches the solver.
+     * Rows are embedded as a single Base64 constant, so the static initializer stays a few instructions long.
+     */
+    private static void takePreSolvedSolution(Builder cbb, TypeSpec.Builder classBuilder, String methodName, ContractPreSolver.PreSolved preSolved) {
+        String fieldName = methodName + "PreSolved";
+
+        CodeBlock names = preSolved.names().stream()
+                .map(name -> CodeBlock.of("$S", name))
+                .collect(CodeBlock.joining(", "));
+
+        classBuilder.addField(FieldSpec.builder(SOLUTION_TABLE, fieldName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T(new String[]{$L}, $S)", SOLUTION_TABLE, names, preSolved.encodedRows())
+                .build());
+
+        cbb.add("\n// Take pre-solved solution\n");
+        cbb.addStatement("solution = $L.next()", fieldName);
+    }
+
+    /**
+     * Linear contracts are sampled directly: bounds propagation and uniform choice, without the solver.
+     */
+    private static void sampleLinearSolution(Builder cbb, TypeSpec.Builder classBuilder, String methodName, ModelData modelData, LinearSystem linearSystem) {
+        String fieldName = methodName + "Sampler";
+        List<ModelVariable> variables = linearSystem.variables();
+
+        CodeBlock names = variables.stream().map(mv -> CodeBlock.of("$S", mv.name())).collect(CodeBlock.joining(", "));
+        CodeBlock integral = variables.stream()
+                .map(mv -> CodeBlock.of("$L", mv.type() == Integer.class || mv.type() == Boolean.class))
+                .collect(CodeBlock.joining(", "));
+        CodeBlock lower = variables.stream().map(mv -> CodeBlock.of("$L", modelData.getDomain(mv).lo())).collect(CodeBlock.joining(", "));
+        CodeBlock upper = variables.stream().map(mv -> CodeBlock.of("$L", modelData.getDomain(mv).hi())).collect(CodeBlock.joining(", "));
+        CodeBlock coefficients = linearSystem.constraints().stream()
+                .map(constraint -> CodeBlock.of("{$L}", Arrays.stream(constraint.coefficients()).mapToObj(String::valueOf).collect(Collectors.joining(", "))))
+                .collect(CodeBlock.joining(", "));
+        CodeBlock relations = linearSystem.constraints().stream()
+                .map(constraint -> CodeBlock.of("$T.$L", LINEAR_SAMPLER, constraint.relation().name()))
+                .collect(CodeBlock.joining(", "));
+
+        classBuilder.addField(FieldSpec.builder(LINEAR_SAMPLER, fieldName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T(\n$>new String[]{$L},\nnew boolean[]{$L},\nnew double[]{$L},\nnew double[]{$L},\nnew double[][]{$L},\nnew int[]{$L}$<)",
+                        LINEAR_SAMPLER, names, integral, lower, upper, coefficients, relations)
+                .build());
+
+        CodeBlock constants = linearSystem.constraints().stream()
+                .map(LinearSystem.Constraint::constant)
+                .collect(CodeBlock.joining(", "));
+        cbb.add("\n// Sample linear contracts\n");
+        cbb.addStatement("solution = $L.sample(new double[]{$L})", fieldName, constants);
+    }
+
+    /**
+     * Takes a solution from the endpoint's cache, keyed by the parameter values the model depends on.
+     * The solver runs only until a small set of solutions is collected for the key; repeated inputs are served from the set.
+     * When the endpoint's solver budget runs out with the RANDOM fallback, an unconstrained random object is returned.
+     */
+    private void findNextSolution(Builder cbb, TypeSpec.Builder classBuilder, String implClassName, String methodName, ModelData modelData, Class<?> returnClass) {
+        classBuilder.addField(FieldSpec.builder(SOLUTION_POOL, solutionPoolName(methodName), Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T($S, $L, $L)", SOLUTION_POOL, implClassName + "." + methodName, MAX_SOLUTION_KEYS, SOLUTIONS_PER_KEY)
+                .build());
+
+        cbb.add("\n// Find next solution\n");
+
+        CodeBlock key = modelData.getSolverParameters().isEmpty()
+                ? CodeBlock.of("$T.of()", List.class)
+                : CodeBlock.of("$T.asList($L)", Arrays.class, modelData.getSolverParameters().stream()
+                .map(parameter -> CodeBlock.of("$L", modelData.restorePathOfParameter(parameter)))
+                .collect(CodeBlock.joining(", ")));
+
+        cbb.beginControlFlow("try");
+        cbb.add("solution = $L.next($L, () -> {\n$>", solutionPoolName(methodName), key);
+        createModel(cbb);
+        createSolverVariables(cbb, modelData);
+        cbb.add("\n// Add contracts\n");
+        cbb.add(modelData.generateSolverContracts());
+        cbb.add("\n// Create solver\n");
         cbb.addStatement("$T solver = model.getSolver()", Solver.class);
         cbb.add(setSearchStrategy(modelData));
-        cbb.addStatement("$T solution = solver.findSolution()", Solution.class);
-        cbb.beginControlFlow("for (int i = 1; i < $L; i++)", methodName);
-        cbb.addStatement("solution = solver.findSolution()");
+        cbb.addStatement("return model");
+        cbb.add("$<});\n");
+        cbb.nextControlFlow("catch ($T e)", SOLVER_BUDGET_EXCEEDED);
+        cbb.beginControlFlow("if (!e.isRandomFallback())");
+        cbb.addStatement("throw e");
         cbb.endControlFlow();
-        cbb.addStatement("$L++", methodName);
-        cbb.beginControlFlow("if (solution == null)");
-        cbb.addStatement("solver.reset()");
-        cbb.addStatement("solution = solver.findSolution()");
-        cbb.addStatement("$L = 2", methodName);
+        cbb.addStatement("return $T.ok($L)", ResponseEntity.class, generateRandomGeneratedObject(returnClass));
         cbb.endControlFlow();
     }
 
@@ -268,17 +359,33 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
         modelData.restoreModelContracts(codeBlockBuilder);
     }
 
-    private void createModelVariables(CodeBlock.Builder cbb, ModelData modelData) {
+    private void createSolverVariables(CodeBlock.Builder cbb, ModelData modelData) {
         cbb.add("\n// Create model variables\n");
         for (ModelVariable mv : modelData.getFieldsAffectedByContracts()) {
-            if (mv.isParameter()) {
-                createModelVariableParameter(cbb, mv, modelData);
-            } else {
-                createModelVariableResultField(cbb, mv);
+            if (ModelData.isSolverVariable(mv)) {
+                createModelVariable(cbb, mv, modelData);
+            }
+        }
+    }
+
+    // Строковые переменные не участвуют в модели и заполняются присваиваниями
+    private void createStringVariables(CodeBlock.Builder cbb, ModelData modelData) {
+        cbb.add("\n// Create string variables\n");
+        for (ModelVariable mv : modelData.getFieldsAffectedByContracts()) {
+            if (!ModelData.isSolverVariable(mv)) {
+                createModelVariable(cbb, mv, modelData);
             }
         }
     }
 
+    private void createModelVariable(CodeBlock.Builder cbb, ModelVariable mv, ModelData modelData) {
+        if (mv.isParameter()) {
+            createModelVariableParameter(cbb, mv, modelData);
+        } else {
+            createModelVariableResultField(cbb, mv, modelData.getDomain(mv));
+        }
+    }
+
     private void createModelVariableParameter(CodeBlock.Builder cbb, ModelVariable modelVariable, ModelData modelData) {
         Class<?> type = modelVariable.type();
 
@@ -297,21 +404,33 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
         }
     }
 
-    private void createModelVariableResultField(CodeBlock.Builder cbb, ModelVariable modelVariable) {
+    // Области значений сужены интервальным анализом контрактов; одноточечная область становится константой
+    private void createModelVariableResultField(CodeBlock.Builder cbb, ModelVariable modelVariable, ContractIntervals.Interval domain) {
         Class<?> type = modelVariable.type();
 
         if (type == Integer.class) {
-            cbb.addStatement("$T $L = model.intVar($S, $L, $L)", IntVar.class, modelVariable.name(), modelVariable.name(), -1000000, 1000000);
+            if (domain.isPoint()) {
+                cbb.addStatement("$T $L = model.intVar($S, $L)", IntVar.class, modelVariable.name(), modelVariable.name(), (int) domain.lo());
+            } else {
+                cbb.addStatement("$T $L = model.intVar($S, $L, $L)", IntVar.class, modelVariable.name(), modelVariable.name(), (int) domain.lo(), (int) domain.hi());
+            }
         } else if (type == Double.class || type == Float.class) {
-            cbb.addStatement("$T $L = model.realVar($S, $L, $L, 0.01)", RealVar.class, modelVariable.name(), modelVariable.name(), -1000000.0, 1000000.0);
+            if (domain.isPoint()) {
+                cbb.addStatement("$T $L = model.realVar($S, $L)", RealVar.class, modelVariable.name(), modelVariable.name(), domain.lo());
+            } else {
+                cbb.addStatement("$T $L = model.realVar($S, $L, $L, 0.01)", RealVar.class, modelVariable.name(), modelVariable.name(), domain.lo(), domain.hi());
+            }
         } else if (type == Boolean.class) {
-            cbb.addStatement("$T $L = model.boolVar($S)", BoolVar.class, modelVariable.name(), modelVariable.name());
+            if (domain.isPoint()) {
+                cbb.addStatement("$T $L = model.boolVar($S, $L)", BoolVar.class, modelVariable.name(), modelVariable.name(), domain.lo() == 1);
+            } else {
+                cbb.addStatement("$T $L = model.boolVar($S)", BoolVar.class, modelVariable.name(), modelVariable.name());
+            }
         } else if (type == String.class) {
             cbb.addStatement("$T $L = new $T()", String.class, modelVariable.name(), String.class);
         } else {
             throw new GenerationImplementationException("Unsupported type " + type.getName());
         }
-
     }
 
     private static CodeBlock setSearchStrategy(ModelData modelData) {
@@ -325,9 +444,9 @@ public final class ContractsApiImplementationGenerator extends ApiImplementation
                 .collect(Collectors.joining(", "));
         CodeBlock.Builder cbb = CodeBlock.builder();
         if (!intVars.isEmpty() && !realVars.isEmpty()) {
-            cbb.addStatement("solver.setSearch($T.randomSearch(new $T[]{ $L }, new $T().nextLong()), $T.realVarSearch($L))", Search.class, IntVar.class, intVars, Random.class, Search.class, realVars);
+            cbb.addStatement("solver.setSearch($T.randomSearch(new $T[]{ $L }, $T.nextLong()), $T.realVarSearch($L))", Search.class, IntVar.class, intVars, RANDOM_DATA, Search.class, realVars);
         } else if (!intVars.isEmpty()) {
-            cbb.addStatement("solver.setSearch($T.randomSearch(new $T[]{ $L }, new $T().nextLong()))", Search.class, IntVar.class, intVars, Random.class);
+            cbb.addStatement("solver.setSearch($T.randomSearch(new $T[]{ $L }, $T.nextLong()))", Search.class, IntVar.class, intVars, RANDOM_DATA);
         } else if (!realVars.isEmpty()) {
             cbb.addStatement("solver.setSearch($T.realVarSearch($L))", Search.class, realVars);
         }
@@ -0,0 +1,246 @@
+package com.nvp.orchestrator.service.implementation.generator;
+
+import com.fasterxml.jackson.annotation.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.javapoet.*;
+import org.springframework.stereotype.Component;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static com.nvp.orchestrator.model.GeneratedRuntime.MODEL_SERIALIZER_MODULE;
+
+/**
+ * Генерирует Jackson-модуль с сериализатором на каждый класс модели.
+ * Сериализатор пишет свойства напрямую через {@link JsonGenerator}; классы с полиморфизмом,
+ * кастомной сериализацией или нестандартными правилами включения остаются на стандартном пути Jackson.
+ */
+@Slf4j
+final class ModelSerializerGenerator {
+
+    private static final String JSON_NULLABLE = "org.openapitools.jackson.nullable.JsonNullable";
+    private static final Set<Class<?>> NUMBER_TYPES = Set.of(Integer.class, Long.class, Double.class, Float.class, BigDecimal.class,
+            int.class, long.class, double.class, float.class);
+
+    private final ClassName moduleName;
+    private final ClassName modelFactory;
+
+    ModelSerializerGenerator(ClassName moduleName, ClassName modelFactory) {
+        this.moduleName = moduleName;
+        this.modelFactory = modelFactory;
+    }
+
+    /**
+     * @param factoryMethods фабричные методы моделей, по ним же строится набор образцов для бенчмарка
+     */
+    TypeSpec.Builder generate(Map<Class<?>, MethodSpec> factoryMethods) {
+        TypeSpec.Builder moduleBuilder = TypeSpec.classBuilder(moduleName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .superclass(MODEL_SERIALIZER_MODULE)
+                .addAnnotation(Component.class);
+
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC);
+        CodeBlock.Builder samples = CodeBlock.builder();
+
+        factoryMethods.forEach((model, factoryMethod) -> {
+            List<Property> properties = properties(model);
+            if (properties == null) {
+                log.debug("Класс {} сериализуется стандартным Jackson", model.getName());
+                return;
+            }
+
+            String serializerName = model.getSimpleName() + "Serializer";
+            moduleBuilder.addType(generateSerializer(model, serializerName, properties));
+            constructor.addStatement("addSerializer($T.class, new $L())", model, serializerName);
+
+            if (!samples.isEmpty()) {
+                samples.add(", ");
+            }
+            samples.add("$T::$N", modelFactory, factoryMethod);
+        });
+
+        TypeName supplierList = ParameterizedTypeName.get(ClassName.get(List.class),
+                ParameterizedTypeName.get(ClassName.get(Supplier.class), WildcardTypeName.subtypeOf(Object.class)));
+
+        return moduleBuilder
+                .addMethod(constructor.build())
+                .addMethod(MethodSpec.methodBuilder("samples")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(supplierList)
+                        .addStatement("return $T.of($L)", List.class, samples.build())
+                        .build());
+    }
+
+    private static TypeSpec generateSerializer(Class<?> model, String serializerName, List<Property> properties) {
+        MethodSpec.Builder serialize = MethodSpec.methodBuilder("serialize")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(model, "value")
+                .addParameter(JsonGenerator.class, "gen")
+                .addParameter(SerializerProvider.class, "provider")
+                .addException(IOException.class)
+                .addStatement("gen.writeStartObject(value)");
+
+        for (int i = 0; i < properties.size(); i++) {
+            addProperty(serialize, properties.get(i), "v" + i);
+        }
+
+        serialize.addStatement("gen.writeEndObject()");
+
+        return TypeSpec.classBuilder(serializerName)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(StdSerializer.class), ClassName.get(model)))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addStatement("super($T.class)", model)
+                        .build())
+                .addMethod(serialize.build())
+                .build();
+    }
+
+    private static void addProperty(MethodSpec.Builder serialize, Property property, String variable) {
+        Class<?> type = property.getter().getReturnType();
+        serialize.addStatement("$T $L = value.$L()", TypeName.get(property.getter().getGenericReturnType()), variable, property.getter().getName());
+
+        if (type.getName().equals(JSON_NULLABLE)) {
+            // Неопределённое значение не пишется вовсе, как в JsonNullableModule
+            serialize.beginControlFlow("if ($L != null && $L.isPresent())", variable, variable)
+                    .addStatement("provider.defaultSerializeField($S, $L.get(), gen)", property.name(), variable)
+                    .endControlFlow();
+            return;
+        }
+
+        if (type.isPrimitive()) {
+            String writer = type == boolean.class ? "writeBooleanField" : NUMBER_TYPES.contains(type) ? "writeNumberField" : null;
+            if (writer != null) {
+                serialize.addStatement("gen.$L($S, $L)", writer, property.name(), variable);
+            } else {
+                serialize.addStatement("provider.defaultSerializeField($S, $L, gen)", property.name(), variable);
+            }
+            return;
+        }
+
+        serialize.beginControlFlow("if ($L != null)", variable);
+        if (type == String.class) {
+            serialize.addStatement("gen.writeStringField($S, $L)", property.name(), variable);
+        } else if (type == Boolean.class) {
+            serialize.addStatement("gen.writeBooleanField($S, $L)", property.name(), variable);
+        } else if (NUMBER_TYPES.contains(type)) {
+            serialize.addStatement("gen.writeNumberField($S, $L)", property.name(), variable);
+        } else {
+            serialize.addStatement("provider.defaultSerializeField($S, $L, gen)", property.name(), variable);
+        }
+        if (!property.skipNull()) {
+            serialize.nextControlFlow("else")
+                    .addStatement("gen.writeNullField($S)", property.name());
+        }
+        serialize.endControlFlow();
+    }
+
+    /**
+     * @return свойства в порядке сериализации или null, если класс нужно оставить стандартному Jackson
+     */
+    private static List<Property> properties(Class<?> model) {
+        if (model.isAnnotationPresent(JsonTypeInfo.class)
+                || model.isAnnotationPresent(JsonSubTypes.class)
+                || model.isAnnotationPresent(JsonSerialize.class)
+                || model.isAnnotationPresent(JsonFormat.class)
+                || (model.isAnnotationPresent(JsonIgnoreProperties.class) && model.getAnnotation(JsonIgnoreProperties.class).value().length > 0)) {
+            return null;
+        }
+
+        Boolean classSkipsNull = skipsNull(model.getAnnotation(JsonInclude.class), false);
+        if (classSkipsNull == null) {
+            return null;
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (Method method : model.getMethods()) {
+            if (method.isAnnotationPresent(JsonAnyGetter.class) || method.isAnnotationPresent(JsonValue.class)) {
+                return null;
+            }
+
+            JsonProperty jsonProperty = method.getAnnotation(JsonProperty.class);
+            if (jsonProperty == null || method.getParameterCount() != 0 || method.getReturnType() == void.class
+                    || method.isAnnotationPresent(JsonIgnore.class)) {
+                continue;
+            }
+            if (method.isAnnotationPresent(JsonSerialize.class) || method.isAnnotationPresent(JsonFormat.class)
+                    || method.isAnnotationPresent(JsonUnwrapped.class) || method.isAnnotationPresent(JsonRawValue.class)) {
+                return null;
+            }
+
+            Boolean skipNull = skipsNull(method.getAnnotation(JsonInclude.class), classSkipsNull);
+            if (skipNull == null) {
+                return null;
+            }
+
+            String name = jsonProperty.value().isEmpty() ? decapitalize(method.getName()) : jsonProperty.value();
+            properties.add(new Property(name, method, skipNull));
+        }
+
+        if (properties.isEmpty()) {
+            return null;
+        }
+
+        properties.sort(Comparator.comparingInt((Property property) -> order(model, property.name()))
+                .thenComparing(Property::name));
+        return properties;
+    }
+
+    /**
+     * @return пропускать ли null, либо null, если правило включения не поддерживается
+     */
+    private static Boolean skipsNull(JsonInclude include, boolean inherited) {
+        if (include == null) {
+            return inherited;
+        }
+
+        return switch (include.value()) {
+            case ALWAYS -> false;
+            case USE_DEFAULTS -> inherited;
+            case NON_NULL, NON_ABSENT -> true;
+            default -> null;
+        };
+    }
+
+    // Порядок из @JsonPropertyOrder, затем порядок объявления полей
+    private static int order(Class<?> model, String name) {
+        JsonPropertyOrder propertyOrder = model.getAnnotation(JsonPropertyOrder.class);
+        if (propertyOrder != null) {
+            int index = Arrays.asList(propertyOrder.value()).indexOf(name);
+            if (index >= 0) {
+                return index;
+            }
+        }
+
+        int offset = 1 << 16;
+        for (Class<?> type = model; type != null && type != Object.class; type = type.getSuperclass()) {
+            Field[] fields = type.getDeclaredFields();
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].getName().equals(name)) {
+                    return offset + i;
+                }
+            }
+            offset += 1 << 16;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static String decapitalize(String getterName) {
+        String name = getterName.replaceFirst("^(get|is)", "");
+        return name.isEmpty() ? getterName : Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private record Property(String name, Method getter, boolean skipNull) {
+    }
+}
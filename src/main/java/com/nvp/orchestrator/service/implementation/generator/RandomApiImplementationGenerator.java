@@ -1,29 +1,57 @@
 package com.nvp.orchestrator.service.implementation.generator;
 
+import com.nvp.orchestrator.exceptions.GenerationServiceException;
+import com.nvp.orchestrator.model.ResponseExample;
+import io.swagger.v3.oas.annotations.Operation;
 import kotlin.Pair;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.javapoet.*;
 import org.springframework.javapoet.MethodSpec.Builder;
 
 import javax.lang.model.element.Modifier;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
+
+import static com.nvp.orchestrator.model.GeneratedRuntime.EXAMPLE_RESPONSES;
+import static com.nvp.orchestrator.model.GeneratedRuntime.IGNORES_INPUTS;
 
 @Slf4j
 public final class RandomApiImplementationGenerator extends ApiImplementationGenerator {
 
+    private static final String EXAMPLES_DIR = "src/main/resources/examples";
+
+    // Примеры ответов по operationId, пусто в режиме случайных данных
+    private final Map<String, ResponseExample> examples;
+
     public RandomApiImplementationGenerator(Path generatedProjectPath) {
+        this(generatedProjectPath, Map.of());
+    }
+
+    public RandomApiImplementationGenerator(Path generatedProjectPath, Map<String, ResponseExample> examples) {
         super(generatedProjectPath);
+        this.examples = examples;
     }
 
-    private MethodSpec generateMethodStub(Method method) {
+    private MethodSpec generateMethodStub(Method method, TypeSpec.Builder classBuilder) {
         Pair<Builder, Type> methodBuilderAndReturnType = prepareSignature(method);
         Builder methodBuilder = methodBuilderAndReturnType.getFirst();
         Type returnType = methodBuilderAndReturnType.getSecond();
 
+        ResponseExample example = examples.get(getOperationId(method));
+        if (example != null) {
+            // Готовые байты примера пишутся в ответ напрямую
+            String fieldName = saveExample(method, example, classBuilder);
+            methodBuilder.addStatement("$T.write($L, $L, $S)", EXAMPLE_RESPONSES, fieldName, example.status(), example.contentType());
+            methodBuilder.addStatement("return null");
+            return methodBuilder.build();
+        }
+
         // Добавляем заглушку для возвращаемого значения
-        methodBuilder.addStatement("return $L", generateRandomGeneratedObject(returnType));
+        addRandomReturn(methodBuilder, method, returnType);
 
         return methodBuilder.build();
     }
@@ -35,11 +63,13 @@ public final class RandomApiImplementationGenerator extends ApiImplementationGen
         TypeSpec.Builder classBuilder = TypeSpec.classBuilder(implClassName)
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(org.springframework.web.bind.annotation.RestController.class)
+                // Методы не читают параметры, тело запроса не разбирается
+                .addAnnotation(IGNORES_INPUTS)
                 .addSuperinterface(apiInterface);
 
         // Генерируем методы интерфейса
         for (Method method : apiInterface.getMethods()) {
-            classBuilder.addMethod(generateMethodStub(method));
+            classBuilder.addMethod(generateMethodStub(method, classBuilder));
         }
 
         String packageName = apiInterface.getPackage().getName();
@@ -47,4 +77,27 @@ public final class RandomApiImplementationGenerator extends ApiImplementationGen
 
         log.info("Сгенерирован класс: {}", implClassName);
     }
+
+    private static String getOperationId(Method method) {
+        Operation operation = method.getAnnotation(Operation.class);
+        return operation == null || operation.operationId().isEmpty() ? method.getName() : operation.operationId();
+    }
+
+    private String saveExample(Method method, ResponseExample example, TypeSpec.Builder classBuilder) {
+        String resourceName = method.getName() + ".json";
+        try {
+            Path examplesDir = generatedProjectPath.resolve(EXAMPLES_DIR);
+            Files.createDirectories(examplesDir);
+            Files.write(examplesDir.resolve(resourceName), example.body());
+        } catch (IOException e) {
+            log.error("Failed to write response example", e);
+            throw new GenerationServiceException("Failed to write response example");
+        }
+
+        String fieldName = method.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_EXAMPLE";
+        classBuilder.addField(FieldSpec.builder(byte[].class, fieldName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.load($S)", EXAMPLE_RESPONSES, resourceName)
+                .build());
+        return fieldName;
+    }
 }
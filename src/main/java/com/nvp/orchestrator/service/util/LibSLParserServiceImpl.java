@@ -1,6 +1,7 @@
 package com.nvp.orchestrator.service.util;
 
 import com.nvp.orchestrator.enums.ParameterType;
+import com.nvp.orchestrator.logs.CapturingPrintStream;
 import com.nvp.orchestrator.logs.OutputRedirect;
 import com.nvp.orchestrator.enums.MethodAnnotation;
 import com.nvp.orchestrator.exceptions.LibSLParsingException;
@@ -24,9 +25,19 @@ import org.jetbrains.research.libsl.nodes.references.TypeReference;
 import org.jetbrains.research.libsl.type.*;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -36,50 +47,102 @@ import java.util.stream.Stream;
 public final class LibSLParserServiceImpl {
 
     private final OutputRedirect outputRedirect;
+    // Разобранные библиотеки по SHA-256 содержимого файла, вытесняются по LRU
+    private final Map<String, Library> libraryCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Library> eldest) {
+            return size() > LIBRARY_CACHE_SIZE;
+        }
+    });
 
     private static final String PATH = "path";
     private static final String PATH_DELIMITER = "/";
     private static final String APPLICATION_JSON = "application/json";
+    private static final String SCHEMA_REF_PREFIX = "#/components/schemas/";
+    private static final int LIBRARY_CACHE_SIZE = 32;
 
+    /**
+     * Parses the LibSL file, reusing the result of an earlier parse of identical content.
+     * Libraries are only read by generation, so a cached instance can be shared between requests.
+     */
     public Library parseLibSL(Path filePath) {
-        Library library = new LibSL("", new LslGlobalContext("")).loadByPath(filePath);
+        String contentHash = hashContent(filePath);
+        Library cached = libraryCache.get(contentHash);
+        if (cached != null) {
+            log.info("LibSL library taken from cache: {}", contentHash);
+            return cached;
+        }
+
+        Library library = parse(filePath);
+        libraryCache.put(contentHash, library);
+        return library;
+    }
 
-        List<String> capturedOutput = outputRedirect.getCapturingErr().getCapturedOutput();
-        if (!capturedOutput.isEmpty()) {
-            throw new LibSLParsingException("Failed to parse LibSL file:\n" + capturedOutput);
+    private Library parse(Path filePath) {
+        Library library;
+        List<String> diagnostics;
+        // Парсер пишет ошибки в System.err; захватываем только вывод этого разбора
+        try (CapturingPrintStream.Capture capture = outputRedirect.getCapturingErr().capture()) {
+            library = new LibSL("", new LslGlobalContext("")).loadByPath(filePath);
+            diagnostics = capture.lines();
+        }
+
+        if (!diagnostics.isEmpty()) {
+            throw new LibSLParsingException("Failed to parse LibSL file:\n" + diagnostics);
         }
 
         log.debug("Library: {}", library);
         return library;
     }
 
+    private static String hashContent(Path filePath) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(Files.readAllBytes(filePath)));
+        } catch (IOException e) {
+            throw new LibSLParsingException("Failed to read LibSL file: " + filePath);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     public static OpenAPI generateOpenAPI(Library library) {
         OpenAPI openAPI = new OpenAPI().info(new Info().title("Generated API").version("1.0.0"));
 
+        SchemaRegistry schemas = new SchemaRegistry();
+
+        // Автоматы обрабатываются параллельно, схемы типов собираются в общий реестр; порядок путей сохраняется
+        List<Map<String, PathItem>> automatonPaths = library.getAutomata().parallelStream()
+                .map(automaton -> generateAutomatonPaths(automaton, schemas))
+                .toList();
+
         Paths paths = new Paths();
-        Components components = new Components();
+        automatonPaths.forEach(items -> items.forEach(paths::addPathItem));
 
-        library.getAutomata().forEach(automaton -> {
-            automaton.getFunctions().forEach(function -> {
-                PathItem pathItem = generatePathItem(function, components);
-                if (pathItem != null) {
-                    paths.addPathItem(generatePathName(automaton, function, pathItem), pathItem);
-                }
-            });
-        });
+        // Структуры, на которые не ссылается ни одна функция
+        library.getResolvedTypes().stream()
+                .filter(type -> type instanceof StructuredType)
+                .forEach(type -> schemas.defineStructure((StructuredType) type));
 
-        library.getResolvedTypes().stream().filter(type -> type instanceof StructuredType)
-                .filter(type -> components.getSchemas().get(type.getName()) == null)
-                .forEach(type -> {
-                    Schema<?> schema = generateArgumentSchema(Objects.requireNonNull(type));
-                    components.addSchemas(type.getName(), schema);
-                });
+        Components components = new Components();
+        schemas.sorted().forEach(components::addSchemas);
 
         openAPI.paths(paths);
         openAPI.components(components);
         return openAPI;
     }
 
+    private static Map<String, PathItem> generateAutomatonPaths(Automaton automaton, SchemaRegistry schemas) {
+        Map<String, PathItem> paths = new LinkedHashMap<>();
+        automaton.getFunctions().forEach(function -> {
+            PathItem pathItem = generatePathItem(function, schemas);
+            if (pathItem != null) {
+                paths.put(generatePathName(automaton, function, pathItem), pathItem);
+            }
+        });
+        return paths;
+    }
+
     private static String generatePathName(Automaton automaton, Function function, PathItem pathItem) {
         AtomicReference<String> pathName = new AtomicReference<>(PATH_DELIMITER + automaton.getName() + PATH_DELIMITER + function.getName());
         Stream.of(pathItem.getGet(), pathItem.getPost(), pathItem.getPut(), pathItem.getDelete())
@@ -97,7 +160,7 @@ public final class LibSLParserServiceImpl {
         return pathName.get();
     }
 
-    private static PathItem generatePathItem(Function function, Components components) {
+    private static PathItem generatePathItem(Function function, SchemaRegistry schemas) {
         AnnotationUsage methodAnnotation = function.getAnnotationUsages()
                 .stream()
                 .filter(a -> MethodAnnotation.isMethodAnnotation(a.getAnnotationReference().getName()))
@@ -118,16 +181,16 @@ public final class LibSLParserServiceImpl {
         Operation operation = new Operation();
         function.getArgs().forEach(arg -> {
             if (isArgumentWithAnnotation(arg, ParameterType.REQUEST_BODE)) {
-                operation.requestBody(generateRequestBody(arg, components));
+                operation.requestBody(generateRequestBody(arg, schemas));
                 operation.addExtension("x-codegen-request-body-name", arg.getName());
             } else if (isArgumentWithAnnotation(arg, ParameterType.PATH)) {
-                operation.addParametersItem(generatePathParameter(arg, components));
+                operation.addParametersItem(generatePathParameter(arg, schemas));
             } else if (isArgumentWithAnnotation(arg, ParameterType.QUERY)) {
-                operation.addParametersItem(generateQueryParameter(arg, components));
+                operation.addParametersItem(generateQueryParameter(arg, schemas));
             }
         });
 
-        generateResponses(function, operation, components);
+        generateResponses(function, operation, schemas);
 
         PathItem pathItem = new PathItem();
         switch (MethodAnnotation.valueOf(methodAnnotation.getAnnotationReference().getName().toUpperCase())) {
@@ -141,25 +204,25 @@ public final class LibSLParserServiceImpl {
         return pathItem;
     }
 
-    private static void generateResponses(Function function, Operation operation, Components components) {
+    private static void generateResponses(Function function, Operation operation, SchemaRegistry schemas) {
         ApiResponse response = new ApiResponse();
         response.description("Successful operation");
 
         if (function.getReturnType() != null) {
-            addResponse(function, response, components);
+            addResponse(function, response, schemas);
         }
 
         operation.responses(new ApiResponses().addApiResponse("200", response));
     }
 
-    private static void addResponse(Function function, ApiResponse response, Components components) {
-        Content content = generateContentByTypeReference(Objects.requireNonNull(function.getReturnType()), components);
+    private static void addResponse(Function function, ApiResponse response, SchemaRegistry schemas) {
+        Content content = generateContentByTypeReference(Objects.requireNonNull(function.getReturnType()), schemas);
 
         response.content(content);
     }
 
-    private static RequestBody generateRequestBody(FunctionArgument argument, Components components) {
-        Content content = generateContentByTypeReference(Objects.requireNonNull(argument.getTypeReference()), components);
+    private static RequestBody generateRequestBody(FunctionArgument argument, SchemaRegistry schemas) {
+        Content content = generateContentByTypeReference(Objects.requireNonNull(argument.getTypeReference()), schemas);
 
         RequestBody requestBody = new RequestBody();
         requestBody.content(content);
@@ -167,12 +230,9 @@ public final class LibSLParserServiceImpl {
         return requestBody;
     }
 
-    private static Content generateContentByTypeReference(TypeReference typeReference, Components components) {
-        String parameterName = typeReference.getName();
-        components.addSchemas(parameterName, generateArgumentSchema(Objects.requireNonNull(typeReference.resolve())));
-
+    private static Content generateContentByTypeReference(TypeReference typeReference, SchemaRegistry schemas) {
         MediaType mediaType = new MediaType();
-        mediaType.schema(new Schema<>().$ref("#/components/schemas/" + parameterName));
+        mediaType.schema(new Schema<>().$ref(schemas.register(typeReference)));
 
         Content content = new Content();
         content.addMediaType(APPLICATION_JSON, mediaType);
@@ -180,23 +240,19 @@ public final class LibSLParserServiceImpl {
         return content;
     }
 
-    private static Parameter generatePathParameter(FunctionArgument argument, Components components) {
-        String parameterName = argument.getTypeReference().getName();
-        components.addSchemas(parameterName, generateArgumentSchema(Objects.requireNonNull(argument.getTypeReference().resolve())));
+    private static Parameter generatePathParameter(FunctionArgument argument, SchemaRegistry schemas) {
         return new Parameter()
                 .name(argument.getName())
                 .in(PATH)
                 .required(true)
-                .schema(new Schema<>().$ref("#/components/schemas/" + parameterName));
+                .schema(new Schema<>().$ref(schemas.register(argument.getTypeReference())));
     }
 
-    private static Parameter generateQueryParameter(FunctionArgument argument, Components components) {
-        String parameterName = argument.getTypeReference().getName();
-        components.addSchemas(parameterName, generateArgumentSchema(Objects.requireNonNull(argument.getTypeReference().resolve())));
+    private static Parameter generateQueryParameter(FunctionArgument argument, SchemaRegistry schemas) {
         return new Parameter()
                 .name(argument.getName())
                 .in("query")
-                .schema(new Schema<>().$ref("#/components/schemas/" + parameterName));
+                .schema(new Schema<>().$ref(schemas.register(argument.getTypeReference())));
     }
 
     private static int getNumberOfRequestBodies(Function function) {
@@ -215,20 +271,16 @@ public final class LibSLParserServiceImpl {
                 .anyMatch(a -> a.getAnnotationReference().getName().equals(parameterType.getValue()));
     }
 
-    private static Schema<?> generateArgumentSchema(Type argumentType) {
+    private static Schema<?> generateArgumentSchema(Type argumentType, SchemaRegistry schemas) {
         try {
             switch (argumentType) {
                 case StructuredType structuredType -> {
-                    ObjectSchema objectSchema = new ObjectSchema();
-                    structuredType.getVariables().forEach(variable -> {
-                        Schema<?> schema = generateArgumentSchema(Objects.requireNonNull(variable.getTypeReference().resolve()));
-                        objectSchema.addProperty(variable.getName(), schema);
-                    });
-                    objectSchema.types(null);
-                    return objectSchema;
+                    // Структура описывается в components один раз, здесь только ссылка на неё
+                    schemas.defineStructure(structuredType);
+                    return new Schema<>().$ref(SCHEMA_REF_PREFIX + structuredType.getName());
                 }
                 case ArrayType arrayType -> {
-                    Schema<?> schema = generateArgumentSchema(Objects.requireNonNull(arrayType.getGenerics().getFirst().resolve()));
+                    Schema<?> schema = generateArgumentSchema(Objects.requireNonNull(arrayType.getGenerics().getFirst().resolve()), schemas);
                     schema.types(null);
                     ArraySchema arraySchema = new ArraySchema();
                     arraySchema.items(schema);
@@ -257,7 +309,7 @@ public final class LibSLParserServiceImpl {
                         throw new LibSLParsingException("Map type should have 2 generics");
                     }
 
-                    Schema<?> valueSchema = generateArgumentSchema(Objects.requireNonNull(mapType.getGenerics().getLast().resolve()));
+                    Schema<?> valueSchema = generateArgumentSchema(Objects.requireNonNull(mapType.getGenerics().getLast().resolve()), schemas);
                     valueSchema.types(null);
 
                     Schema<?> schema = new MapSchema();
@@ -267,11 +319,13 @@ public final class LibSLParserServiceImpl {
                     return schema;
                 }
                 case TypeAlias typeAlias -> {
-                    return generateArgumentSchema(Objects.requireNonNull(typeAlias.getOriginalType().resolve()));
+                    return generateArgumentSchema(Objects.requireNonNull(typeAlias.getOriginalType().resolve()), schemas);
                 }
                 default -> {
                 }
             }
+        } catch (LibSLParsingException e) {
+            throw e;
         } catch (Exception e) {
             throw new LibSLParsingException("Failed to generate schema for argument type: " + argumentType);
         }
@@ -292,4 +346,46 @@ public final class LibSLParserServiceImpl {
             default -> throw new LibSLParsingException("Unexpected value: " + typeName);
         };
     }
+
+    /**
+     * Схемы components, общие для всех автоматов. Структура строится один раз: имя резервируется до обхода полей,
+     * поэтому рекурсивные и взаимные ссылки между структурами превращаются в $ref, а не в бесконечную рекурсию.
+     */
+    private static final class SchemaRegistry {
+
+        private final Map<String, Schema<?>> schemas = new ConcurrentHashMap<>();
+
+        /**
+         * Описывает тип ссылки в components под её именем.
+         *
+         * @return $ref на схему
+         */
+        String register(TypeReference typeReference) {
+            String name = typeReference.getName();
+            Type type = Objects.requireNonNull(typeReference.resolve());
+            if (type instanceof StructuredType structuredType && structuredType.getName().equals(name)) {
+                defineStructure(structuredType);
+            } else if (!schemas.containsKey(name)) {
+                schemas.putIfAbsent(name, generateArgumentSchema(type, this));
+            }
+            return SCHEMA_REF_PREFIX + name;
+        }
+
+        void defineStructure(StructuredType structuredType) {
+            ObjectSchema objectSchema = new ObjectSchema();
+            if (schemas.putIfAbsent(structuredType.getName(), objectSchema) != null) {
+                // Уже построена или строится в этом или другом потоке
+                return;
+            }
+            structuredType.getVariables().forEach(variable -> {
+                Schema<?> schema = generateArgumentSchema(Objects.requireNonNull(variable.getTypeReference().resolve()), this);
+                objectSchema.addProperty(variable.getName(), schema);
+            });
+            objectSchema.types(null);
+        }
+
+        Map<String, Schema<?>> sorted() {
+            return new TreeMap<>(schemas);
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package com.nvp.orchestrator.service.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.nvp.orchestrator.exceptions.GenerationServiceException;
+import com.nvp.orchestrator.model.ResponseExample;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Извлекает примеры ответов из спецификации и сериализует их в байты один раз при генерации.
+ */
+@Slf4j
+@UtilityClass
+public class OpenApiExamples {
+
+    /**
+     * @return пример первого успешного ответа с JSON-телом для каждой операции, по operationId
+     */
+    public static Map<String, ResponseExample> extract(Path openapiSpec) {
+        OpenAPI openAPI;
+        try {
+            // YAML - надмножество JSON, поэтому читаются оба формата
+            openAPI = Yaml.mapper().readValue(openapiSpec.toFile(), OpenAPI.class);
+        } catch (IOException e) {
+            log.error("Failed to read OpenAPI spec", e);
+            throw new GenerationServiceException("Failed to read OpenAPI spec");
+        }
+        return extract(openAPI);
+    }
+
+    public static Map<String, ResponseExample> extract(OpenAPI openAPI) {
+        Map<String, ResponseExample> examples = new HashMap<>();
+        if (openAPI.getPaths() == null) {
+            return examples;
+        }
+
+        openAPI.getPaths().values().forEach(pathItem -> pathItem.readOperations().forEach(operation -> {
+            ResponseExample example = extract(operation);
+            if (example != null && operation.getOperationId() != null) {
+                examples.put(operation.getOperationId(), example);
+            }
+        }));
+
+        log.info("Found response examples for {} operations", examples.size());
+        return examples;
+    }
+
+    private static ResponseExample extract(Operation operation) {
+        if (operation.getResponses() == null) {
+            return null;
+        }
+
+        for (Map.Entry<String, ApiResponse> response : operation.getResponses().entrySet()) {
+            int status = parseSuccessStatus(response.getKey());
+            if (status == 0 || response.getValue().getContent() == null) {
+                continue;
+            }
+
+            for (Map.Entry<String, MediaType> media : response.getValue().getContent().entrySet()) {
+                if (!media.getKey().contains("json")) {
+                    continue;
+                }
+
+                Object value = exampleValue(media.getValue());
+                if (value != null) {
+                    return new ResponseExample(status, media.getKey(), serialize(value, operation.getOperationId()));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Object exampleValue(MediaType media) {
+        if (media.getExample() != null) {
+            return media.getExample();
+        }
+
+        if (media.getExamples() != null) {
+            for (Example example : media.getExamples().values()) {
+                if (example.getValue() != null) {
+                    return example.getValue();
+                }
+            }
+        }
+
+        return media.getSchema() == null ? null : media.getSchema().getExample();
+    }
+
+    // default обычно описывает ошибку, поэтому его пример как успешный ответ не используется
+    private static int parseSuccessStatus(String code) {
+        try {
+            int status = Integer.parseInt(code);
+            return status >= 200 && status < 300 ? status : 0;
+        } catch (NumberFormatException e) {
+            // Диапазоны вида 2XX
+            return code.startsWith("2") ? 200 : 0;
+        }
+    }
+
+    private static byte[] serialize(Object value, String operationId) {
+        // Строковый пример JSON-ответа уже содержит готовый документ
+        if (value instanceof String text) {
+            String trimmed = text.trim();
+            if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+                return trimmed.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        try {
+            return Json.mapper().writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize example of {}", operationId, e);
+            throw new GenerationServiceException("Failed to serialize response example of " + operationId);
+        }
+    }
+}
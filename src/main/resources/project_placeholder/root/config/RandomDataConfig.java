@@ -0,0 +1,25 @@
+package org.openapitools.config;
+
+import jakarta.annotation.PostConstruct;
+import org.openapitools.util.RandomData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RandomDataConfig {
+
+    @Value("${mock.random.max-depth:8}")
+    private int maxDepth;
+
+    @Value("${mock.random.max-objects:10000}")
+    private int maxObjects;
+
+    // Максимальный размер коллекций по уровням вложенности, последний повторяется для более глубоких
+    @Value("${mock.random.max-collection-sizes:10}")
+    private int[] maxCollectionSizes;
+
+    @PostConstruct
+    public void init() {
+        RandomData.configure(maxDepth, maxObjects, maxCollectionSizes);
+    }
+}
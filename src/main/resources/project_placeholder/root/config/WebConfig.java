@@ -1,22 +1,44 @@
 package org.openapitools.config;
 
 import lombok.RequiredArgsConstructor;
-import org.openapitools.util.ControlPanelInterceptor;
-import org.openapitools.util.RequestLoggingInterceptor;
+import org.openapitools.util.EndpointInterceptor;
+import org.openapitools.util.UnusedBodyArgumentResolver;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
-    private final RequestLoggingInterceptor requestLoggingInterceptor;
-    private final ControlPanelInterceptor controlPanelInterceptor;
+    private final EndpointInterceptor endpointInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(requestLoggingInterceptor).order(0);
-        registry.addInterceptor(controlPanelInterceptor).order(1);
+        registry.addInterceptor(endpointInterceptor).order(0);
+    }
+
+    // Резолверы из addArgumentResolvers идут после стандартных, поэтому неиспользуемое тело ставится первым вручную
+    @Bean
+    public static BeanPostProcessor unusedBodyArgumentResolverRegistrar() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter adapter && adapter.getArgumentResolvers() != null) {
+                    List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>(adapter.getArgumentResolvers().size() + 1);
+                    resolvers.add(new UnusedBodyArgumentResolver());
+                    resolvers.addAll(adapter.getArgumentResolvers());
+                    adapter.setArgumentResolvers(resolvers);
+                }
+                return bean;
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,89 @@
 package org.openapitools.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.openapitools.util.Bulkhead;
+import org.openapitools.util.FaultProfile;
+import org.openapitools.util.ResponsePool;
+import org.openapitools.util.SolverBudget;
+import org.openapitools.util.TokenBucket;
+
+import java.util.List;
 
 @Data
 public class EndpointOverrideConfig {
     private Long delayMs;
     private Integer httpCodeOverride;
-}
\ No newline at end of file
+
+    // Случайная задержка, добавляется к delayMs
+    private LatencyDistribution latencyDistribution;
+    private Double latencyMeanMs;
+    private Double latencyStdDevMs;
+    private Double latencyParetoShape;
+    private List<Double> latencyPercentiles;
+    private List<Long> latencyPercentileValuesMs;
+
+    // Вероятностные ошибки
+    private Double errorProbability;
+    private List<Integer> errorCodes;
+    private List<Double> errorCodeWeights;
+    private Double abortProbability;
+
+    // Ограничение скорости отдачи тела ответа
+    private Long throttleBytesPerSecond;
+
+    // Эмуляция пропускной способности
+    private Double rateLimitPerSecond;
+    private Integer rateLimitBurst;
+    private Integer maxConcurrency;
+    private Long maxQueueWaitMs;
+
+    // Потоковая отдача массива из указанного числа элементов
+    private Integer streamArraySize;
+
+    // Пул заранее сериализованных ответов
+    private Integer responsePoolSize;
+    private Double responsePoolRefreshPerSecond;
+
+    // Бюджет солвера контрактов на одно обращение, 0 — без ограничения
+    private Long solverTimeLimitMs;
+    private Long solverNodeLimit;
+    private Long solverFailLimit;
+    private SolverFallback solverFallback;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private FaultProfile faultProfile;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private TokenBucket tokenBucket;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Bulkhead bulkhead;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ResponsePool responsePool;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private SolverBudget solverBudget;
+
+    public enum LatencyDistribution {
+        NORMAL, LOGNORMAL, PARETO, EMPIRICAL
+    }
+
+    // Ответ при исчерпании бюджета солвера: последнее найденное решение, случайный объект или 422
+    public enum SolverFallback {
+        CACHED, RANDOM, REJECT
+    }
+}
@@ -1,32 +1,97 @@
 package org.openapitools.service;
 
+import lombok.RequiredArgsConstructor;
 import org.openapitools.model.EndpointOverrideConfig;
+import org.openapitools.model.EndpointOverrideConfig.SolverFallback;
+import org.openapitools.util.Bulkhead;
+import org.openapitools.util.FaultProfile;
+import org.openapitools.util.ResponsePool;
+import org.openapitools.util.SolverBudget;
+import org.openapitools.util.TokenBucket;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 public class ControlPanelService {
-    private final Map<String, EndpointOverrideConfig> configMap = new ConcurrentHashMap<>();
+    private final EndpointRegistry endpointRegistry;
+    private volatile boolean throttlingEnabled;
 
     public EndpointOverrideConfig getConfig(String endpoint) {
-        return configMap.get(endpoint);
+        EndpointState state = endpointRegistry.find(endpoint);
+        return state == null ? null : state.getConfig();
     }
 
     public Map<String, EndpointOverrideConfig> getAllConfigs() {
-        return configMap;
+        return endpointRegistry.getStates().stream()
+                .filter(state -> state.getConfig() != null)
+                .collect(Collectors.toMap(EndpointState::getPattern, EndpointState::getConfig));
     }
 
     public void setConfig(String endpoint, EndpointOverrideConfig config) {
-        configMap.put(endpoint, config);
+        EndpointState state = endpointRegistry.find(endpoint);
+        if (state == null) {
+            throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        }
+        config.setFaultProfile(FaultProfile.of(config));
+        if (config.getRateLimitPerSecond() != null) {
+            int burst = config.getRateLimitBurst() == null ? 1 : config.getRateLimitBurst();
+            config.setTokenBucket(new TokenBucket(config.getRateLimitPerSecond(), burst));
+        }
+        if (config.getMaxConcurrency() != null) {
+            long maxWaitMs = config.getMaxQueueWaitMs() == null ? 0 : config.getMaxQueueWaitMs();
+            config.setBulkhead(new Bulkhead(config.getMaxConcurrency(), maxWaitMs));
+        }
+        if (config.getStreamArraySize() != null && config.getStreamArraySize() < 0) {
+            throw new IllegalArgumentException("streamArraySize must not be negative");
+        }
+        if (config.getResponsePoolSize() != null) {
+            double refreshPerSecond = config.getResponsePoolRefreshPerSecond() == null ? 0 : config.getResponsePoolRefreshPerSecond();
+            config.setResponsePool(new ResponsePool(config.getResponsePoolSize(), refreshPerSecond));
+        }
+        if (config.getSolverTimeLimitMs() != null || config.getSolverNodeLimit() != null
+                || config.getSolverFailLimit() != null || config.getSolverFallback() != null) {
+            config.setSolverBudget(new SolverBudget(
+                    config.getSolverTimeLimitMs() == null ? 0 : config.getSolverTimeLimitMs(),
+                    config.getSolverNodeLimit() == null ? 0 : config.getSolverNodeLimit(),
+                    config.getSolverFailLimit() == null ? 0 : config.getSolverFailLimit(),
+                    config.getSolverFallback() == null ? SolverFallback.REJECT : config.getSolverFallback(),
+                    state::recordSolverBudgetExhausted));
+        }
+        replaceConfig(state, config);
+        updateThrottlingEnabled();
     }
 
     public void resetConfig(String endpoint) {
-        configMap.remove(endpoint);
+        EndpointState state = endpointRegistry.find(endpoint);
+        if (state != null) {
+            replaceConfig(state, null);
+        }
+        updateThrottlingEnabled();
     }
 
     public void resetAll() {
-        configMap.clear();
+        endpointRegistry.getStates().forEach(state -> replaceConfig(state, null));
+        updateThrottlingEnabled();
     }
-}
\ No newline at end of file
+
+    public boolean isThrottlingEnabled() {
+        return throttlingEnabled;
+    }
+
+    private void replaceConfig(EndpointState state, EndpointOverrideConfig config) {
+        EndpointOverrideConfig previous = state.getConfig();
+        state.setConfig(config);
+        if (previous != null && previous.getResponsePool() != null) {
+            previous.getResponsePool().close();
+        }
+    }
+
+    private void updateThrottlingEnabled() {
+        throttlingEnabled = endpointRegistry.getStates().stream()
+                .map(EndpointState::getConfig)
+                .anyMatch(config -> config != null && config.getFaultProfile().getThrottleBytesPerSecond() > 0);
+    }
+}
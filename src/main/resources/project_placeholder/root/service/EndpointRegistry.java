@@ -0,0 +1,131 @@
+package org.openapitools.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.openapitools.utilApi.StatsController;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр состояний эндпоинтов. При старте для каждого {@link HandlerMethod} один раз вычисляется,
+ * исключён ли он из статистики, и запоминается ссылка на его {@link EndpointState},
+ * поэтому на запросе не нужно ни сопоставлять шаблоны, ни искать по строке.
+ */
+@Service
+public class EndpointRegistry implements SmartInitializingSingleton {
+
+    public static final List<String> EXCLUDED_PATTERNS = List.of(
+            "/swagger-ui*/**",
+            "/v3/api-docs*/**",
+            "/ui*/**",
+            "/stats*/**",
+            "/error*/**",
+            "/control*/**",
+            "/openapi*/**"
+    );
+
+    public static final String UNMATCHED_PATTERN = "<unmatched>";
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappingProvider;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, EndpointState> statesByPattern = new ConcurrentHashMap<>();
+    // Общее состояние запросов без шаблона (404, фильтры), чтобы произвольные URI не заводили новые состояния
+    private final EndpointState unmatched = new EndpointState(UNMATCHED_PATTERN, false, false);
+    private volatile Map<Method, EndpointState> statesByMethod = Map.of();
+    private volatile List<String> configurableEndpoints = List.of();
+
+    public EndpointRegistry(ObjectProvider<RequestMappingHandlerMapping> handlerMappingProvider) {
+        this.handlerMappingProvider = handlerMappingProvider;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Method, EndpointState> byMethod = new HashMap<>();
+        Set<String> endpoints = new TreeSet<>();
+        handlerMappingProvider.getObject().getHandlerMethods().forEach((info, handlerMethod) -> {
+            Set<String> patterns = getPatterns(info);
+            boolean isStats = StatsController.class.isAssignableFrom(handlerMethod.getBeanType());
+
+            for (String pattern : patterns) {
+                EndpointState state = statesByPattern.computeIfAbsent(pattern, p -> createState(p, isStats));
+                if (state.isCounted()) {
+                    endpoints.add(pattern);
+                }
+            }
+            // Методы с несколькими шаблонами разрешаются по совпавшему шаблону на запросе
+            if (patterns.size() == 1) {
+                byMethod.put(handlerMethod.getMethod(), statesByPattern.get(patterns.iterator().next()));
+            }
+        });
+        statesByMethod = byMethod;
+        configurableEndpoints = List.copyOf(endpoints);
+    }
+
+    public EndpointState resolve(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            EndpointState state = statesByMethod.get(handlerMethod.getMethod());
+            if (state != null) {
+                return state;
+            }
+        }
+
+        // Шаблонов конечное число, поэтому состояния по ним можно создавать лениво
+        String pathTemplate = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pathTemplate == null) {
+            return unmatched;
+        }
+        return statesByPattern.computeIfAbsent(pathTemplate, p -> createState(p, false));
+    }
+
+    public EndpointState find(String pattern) {
+        return statesByPattern.get(pattern);
+    }
+
+    public Collection<EndpointState> getStates() {
+        return statesByPattern.values();
+    }
+
+    public List<String> getConfigurableEndpoints() {
+        return configurableEndpoints;
+    }
+
+    private EndpointState createState(String pattern, boolean isStats) {
+        if (isStats) {
+            return new EndpointState(pattern, false, true);
+        }
+        boolean excluded = isExcluded(pattern);
+        return new EndpointState(pattern, !excluded, !excluded);
+    }
+
+    private boolean isExcluded(String pattern) {
+        for (String excludedPattern : EXCLUDED_PATTERNS) {
+            if (pathMatcher.match(excludedPattern, pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> getPatterns(RequestMappingInfo info) {
+        if (info.getPathPatternsCondition() != null) {
+            return info.getPathPatternsCondition().getPatternValues();
+        } else if (info.getPatternsCondition() != null) {
+            return info.getPatternsCondition().getPatterns();
+        }
+        return Set.of();
+    }
+}
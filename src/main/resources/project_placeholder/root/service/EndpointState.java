@@ -0,0 +1,62 @@
+package org.openapitools.service;
+
+import lombok.Getter;
+import org.openapitools.model.EndpointOverrideConfig;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Изменяемое состояние одного эндпоинта: счётчики запросов и исчерпаний бюджета солвера,
+ * текущая конфигурация панели управления.
+ * Создаётся один раз на шаблон пути, интерцептор получает на него прямую ссылку.
+ */
+public final class EndpointState {
+
+    @Getter
+    private final String pattern;
+    @Getter
+    private final boolean counted;
+    @Getter
+    private final boolean logged;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder solverBudgetExhaustions = new LongAdder();
+    private volatile EndpointOverrideConfig config;
+
+    EndpointState(String pattern, boolean counted, boolean logged) {
+        this.pattern = pattern;
+        this.counted = counted;
+        this.logged = logged;
+    }
+
+    public void increment() {
+        requestCount.increment();
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public void resetRequestCount() {
+        requestCount.reset();
+    }
+
+    public void recordSolverBudgetExhausted() {
+        solverBudgetExhaustions.increment();
+    }
+
+    public long getSolverBudgetExhaustions() {
+        return solverBudgetExhaustions.sum();
+    }
+
+    public void resetSolverBudgetExhaustions() {
+        solverBudgetExhaustions.reset();
+    }
+
+    public EndpointOverrideConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(EndpointOverrideConfig config) {
+        this.config = config;
+    }
+}
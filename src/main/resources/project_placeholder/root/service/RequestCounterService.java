@@ -1,23 +1,34 @@
 package org.openapitools.service;
 
+import lombok.RequiredArgsConstructor;
+import org.openapitools.util.SolutionPool;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 public class RequestCounterService {
-    private final Map<String, Long> endpointCounts = new ConcurrentHashMap<>();
+    private final EndpointRegistry endpointRegistry;
 
-    public void increment(String endpoint) {
-        endpointCounts.merge(endpoint, 1L, Long::sum);
+    public Map<String, Long> getCounts() {
+        return endpointRegistry.getStates().stream()
+                .filter(state -> state.getRequestCount() > 0)
+                .collect(Collectors.toMap(EndpointState::getPattern, EndpointState::getRequestCount));
     }
 
-    public Map<String, Long> getCounts() {
-        return endpointCounts;
+    public Map<String, Long> getSolverBudgetExhaustions() {
+        return endpointRegistry.getStates().stream()
+                .filter(state -> state.getSolverBudgetExhaustions() > 0)
+                .collect(Collectors.toMap(EndpointState::getPattern, EndpointState::getSolverBudgetExhaustions));
     }
 
     public void reset() {
-        endpointCounts.clear();
+        endpointRegistry.getStates().forEach(state -> {
+            state.resetRequestCount();
+            state.resetSolverBudgetExhaustions();
+        });
+        SolutionPool.resetStats();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package org.openapitools.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.openapitools.model.EndpointOverrideConfig;
+import org.openapitools.service.EndpointRegistry;
+import org.openapitools.service.EndpointState;
+import org.openapitools.util.RequestLog.EventKind;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Единый интерцептор сгенерированного сервиса: учёт и логирование запросов, лимиты и внедрение сбоев.
+ * Всё, что зависит только от обработчика, вычислено заранее в {@link EndpointRegistry}.
+ */
+@Component
+@RequiredArgsConstructor
+public class EndpointInterceptor implements HandlerInterceptor {
+
+    private static final String BULKHEAD_ATTRIBUTE = EndpointInterceptor.class.getName() + ".bulkhead";
+    private static final String START_ATTRIBUTE = EndpointInterceptor.class.getName() + ".start";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final EndpointRegistry endpointRegistry;
+    private final RequestLog requestLog;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        EndpointState state = endpointRegistry.resolve(request, handler);
+
+        if (!state.isCounted()) {
+            if (state.isLogged()) {
+                requestLog.incoming(request.getMethod(), request.getRequestURI());
+            }
+            return true;
+        }
+
+        long startNanos = System.nanoTime();
+        requestLog.incoming(request.getMethod(), state.getPattern());
+        state.increment();
+
+        String seedHeader = request.getHeader(RandomData.SEED_HEADER);
+        long seed = seedHeader == null ? 0 : parseSeed(seedHeader);
+
+        boolean proceed = applyConfig(state, request, response);
+        if (!proceed) {
+            requestLog.access(request.getMethod(), state.getPattern(), response.getStatus(), System.nanoTime() - startNanos);
+            return false;
+        }
+
+        if (requestLog.isAccessLogEnabled()) {
+            request.setAttribute(START_ATTRIBUTE, startNanos);
+        }
+        RandomData.beginRequest();
+        if (seedHeader != null) {
+            RandomData.seed(seed);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        releaseBulkhead(request);
+        RandomData.clearSeed();
+
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long startNanos) {
+            EndpointState state = endpointRegistry.resolve(request, handler);
+            requestLog.access(request.getMethod(), state.getPattern(), response.getStatus(), System.nanoTime() - startNanos);
+        }
+    }
+
+    private boolean applyConfig(EndpointState state, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        EndpointOverrideConfig config = state.getConfig();
+        if (config == null) {
+            return true;
+        }
+
+        TokenBucket tokenBucket = config.getTokenBucket();
+        if (tokenBucket != null) {
+            long waitNanos = tokenBucket.tryAcquire();
+            if (waitNanos > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+                return false;
+            }
+        }
+
+        Bulkhead bulkhead = config.getBulkhead();
+        if (bulkhead != null) {
+            if (!bulkhead.tryAcquire()) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                return false;
+            }
+            request.setAttribute(BULKHEAD_ATTRIBUTE, bulkhead);
+        }
+
+        try {
+            boolean proceed = applyOverrides(config, state.getPattern(), request, response);
+            if (!proceed) {
+                releaseBulkhead(request);
+            }
+            return proceed;
+        } catch (Exception e) {
+            releaseBulkhead(request);
+            throw e;
+        }
+    }
+
+    private boolean applyOverrides(EndpointOverrideConfig config, String endpointTemplate, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        FaultProfile profile = config.getFaultProfile();
+
+        if (profile.hasDelay()) {
+            long delayMs = profile.sampleDelayMs();
+            if (delayMs > 0) {
+                requestLog.event(EventKind.DELAY, endpointTemplate, delayMs);
+                Thread.sleep(delayMs);
+            }
+        }
+
+        if (config.getHttpCodeOverride() != null) {
+            requestLog.event(EventKind.OVERRIDE, endpointTemplate, config.getHttpCodeOverride());
+            response.setStatus(config.getHttpCodeOverride());
+            return false;
+        }
+
+        if (profile.sampleAbort()) {
+            requestLog.event(EventKind.ABORT, endpointTemplate, 0);
+            abortConnection(response);
+            return false;
+        }
+
+        int errorCode = profile.sampleErrorCode();
+        if (errorCode != 0) {
+            requestLog.event(EventKind.ERROR, endpointTemplate, errorCode);
+            response.setStatus(errorCode);
+            return false;
+        }
+
+        if (config.getStreamArraySize() != null) {
+            request.setAttribute(StreamingResponses.SIZE_ATTRIBUTE, config.getStreamArraySize());
+        }
+
+        if (config.getResponsePool() != null) {
+            request.setAttribute(ResponsePools.POOL_ATTRIBUTE, config.getResponsePool());
+        }
+
+        if (config.getSolverBudget() != null) {
+            request.setAttribute(SolverBudget.ATTRIBUTE, config.getSolverBudget());
+        }
+
+        if (profile.getThrottleBytesPerSecond() > 0) {
+            ThrottledResponseWrapper throttledResponse = WebUtils.getNativeResponse(response, ThrottledResponseWrapper.class);
+            if (throttledResponse != null) {
+                throttledResponse.throttle(profile.getThrottleBytesPerSecond());
+            }
+        }
+        return true;
+    }
+
+    private static long parseSeed(String seed) {
+        try {
+            return Long.parseLong(seed.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Header " + RandomData.SEED_HEADER + " must be a number");
+        }
+    }
+
+    private static void releaseBulkhead(HttpServletRequest request) {
+        Bulkhead bulkhead = (Bulkhead) request.getAttribute(BULKHEAD_ATTRIBUTE);
+        if (bulkhead != null) {
+            request.removeAttribute(BULKHEAD_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+
+    // Отправляем заголовки с обещанным телом и закрываем соединение, не отдав ни одного байта тела
+    private static void abortConnection(HttpServletResponse response) throws Exception {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentLength(1);
+        response.flushBuffer();
+    }
+}
@@ -0,0 +1,49 @@
+package org.openapitools.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Готовые тела ответов из примеров спецификации.
+ * Байты читаются из ресурсов один раз при загрузке контроллера и пишутся в ответ без сериализации.
+ */
+public final class ExampleResponses {
+
+    private static final String RESOURCE_DIR = "/examples/";
+
+    private ExampleResponses() {
+    }
+
+    public static byte[] load(String name) {
+        try (InputStream input = ExampleResponses.class.getResourceAsStream(RESOURCE_DIR + name)) {
+            if (input == null) {
+                throw new IllegalStateException("Example not found: " + name);
+            }
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load example " + name, e);
+        }
+    }
+
+    public static void write(byte[] body, int status, String contentType) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null) {
+            throw new IllegalStateException("No current response");
+        }
+
+        response.setStatus(status);
+        response.setContentType(contentType);
+        response.setContentLength(body.length);
+        try {
+            response.getOutputStream().write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write example response", e);
+        }
+    }
+}
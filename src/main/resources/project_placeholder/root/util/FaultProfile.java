@@ -0,0 +1,228 @@
+package org.openapitools.util;
+
+import org.openapitools.model.EndpointOverrideConfig;
+import org.openapitools.model.EndpointOverrideConfig.LatencyDistribution;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Скомпилированный профиль задержек и ошибок эндпоинта.
+ * Все таблицы считаются один раз при установке конфигурации,
+ * выборка на каждом запросе не выделяет память и использует {@link ThreadLocalRandom}.
+ */
+public final class FaultProfile {
+
+    private static final int EMPIRICAL_TABLE_SIZE = 1024;
+
+    private final long fixedDelayMs;
+    private final LatencyDistribution distribution;
+    private final double mean;
+    private final double stdDev;
+    private final double logMu;
+    private final double logSigma;
+    private final double paretoScale;
+    private final double paretoInverseShape;
+    private final long[] empiricalTable;
+
+    private final double errorProbability;
+    private final int[] errorCodes;
+    private final double[] errorCumulativeWeights;
+    private final double abortProbability;
+    private final long throttleBytesPerSecond;
+
+    private FaultProfile(EndpointOverrideConfig config) {
+        this.fixedDelayMs = config.getDelayMs() == null ? 0 : Math.max(0, config.getDelayMs());
+        this.distribution = config.getLatencyDistribution();
+
+        double meanMs = config.getLatencyMeanMs() == null ? 0 : config.getLatencyMeanMs();
+        double stdDevMs = config.getLatencyStdDevMs() == null ? 0 : config.getLatencyStdDevMs();
+        this.mean = meanMs;
+        this.stdDev = stdDevMs;
+
+        if (distribution == LatencyDistribution.LOGNORMAL) {
+            requirePositive(meanMs, "latencyMeanMs");
+            // Параметры логнормального распределения по среднему и стандартному отклонению
+            double variance = Math.log(1 + (stdDevMs * stdDevMs) / (meanMs * meanMs));
+            this.logSigma = Math.sqrt(variance);
+            this.logMu = Math.log(meanMs) - variance / 2;
+        } else {
+            this.logSigma = 0;
+            this.logMu = 0;
+        }
+
+        if (distribution == LatencyDistribution.PARETO) {
+            requirePositive(meanMs, "latencyMeanMs");
+            Double shape = config.getLatencyParetoShape();
+            if (shape == null || shape <= 1) {
+                throw new IllegalArgumentException("latencyParetoShape must be greater than 1");
+            }
+            this.paretoScale = meanMs * (shape - 1) / shape;
+            this.paretoInverseShape = 1 / shape;
+        } else {
+            this.paretoScale = 0;
+            this.paretoInverseShape = 0;
+        }
+
+        this.empiricalTable = distribution == LatencyDistribution.EMPIRICAL
+                ? buildEmpiricalTable(config.getLatencyPercentiles(), config.getLatencyPercentileValuesMs())
+                : null;
+
+        this.errorProbability = probability(config.getErrorProbability(), "errorProbability");
+        this.errorCodes = errorProbability > 0 ? buildErrorCodes(config.getErrorCodes()) : new int[0];
+        this.errorCumulativeWeights = errorProbability > 0 ? buildCumulativeWeights(errorCodes.length, config.getErrorCodeWeights()) : new double[0];
+        this.abortProbability = probability(config.getAbortProbability(), "abortProbability");
+        this.throttleBytesPerSecond = config.getThrottleBytesPerSecond() == null ? 0 : Math.max(0, config.getThrottleBytesPerSecond());
+    }
+
+    public static FaultProfile of(EndpointOverrideConfig config) {
+        return new FaultProfile(config);
+    }
+
+    public long sampleDelayMs() {
+        if (distribution == null) {
+            return fixedDelayMs;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double sampled = switch (distribution) {
+            case NORMAL -> mean + stdDev * random.nextGaussian();
+            case LOGNORMAL -> Math.exp(logMu + logSigma * random.nextGaussian());
+            case PARETO -> paretoScale / Math.pow(1 - random.nextDouble(), paretoInverseShape);
+            case EMPIRICAL -> empiricalTable[random.nextInt(EMPIRICAL_TABLE_SIZE)];
+        };
+        return fixedDelayMs + Math.max(0, Math.round(sampled));
+    }
+
+    /**
+     * @return HTTP-код ошибки или 0, если запрос должен обрабатываться штатно
+     */
+    public int sampleErrorCode() {
+        if (errorProbability == 0) {
+            return 0;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() >= errorProbability) {
+            return 0;
+        }
+
+        double point = random.nextDouble();
+        for (int i = 0; i < errorCumulativeWeights.length - 1; i++) {
+            if (point < errorCumulativeWeights[i]) {
+                return errorCodes[i];
+            }
+        }
+        return errorCodes[errorCodes.length - 1];
+    }
+
+    public boolean sampleAbort() {
+        return abortProbability > 0 && ThreadLocalRandom.current().nextDouble() < abortProbability;
+    }
+
+    public long getThrottleBytesPerSecond() {
+        return throttleBytesPerSecond;
+    }
+
+    public boolean hasDelay() {
+        return distribution != null || fixedDelayMs > 0;
+    }
+
+    /**
+     * Строит таблицу обратной функции распределения по перцентилям с линейной интерполяцией между точками.
+     */
+    private static long[] buildEmpiricalTable(List<Double> percentiles, List<Long> valuesMs) {
+        if (percentiles == null || valuesMs == null || percentiles.isEmpty() || percentiles.size() != valuesMs.size()) {
+            throw new IllegalArgumentException("latencyPercentiles and latencyPercentileValuesMs must be non-empty and of the same size");
+        }
+
+        for (int i = 0; i < percentiles.size(); i++) {
+            double p = percentiles.get(i);
+            if (p < 0 || p > 100) {
+                throw new IllegalArgumentException("Percentile must be in [0, 100]: " + p);
+            }
+            if (i > 0 && (p <= percentiles.get(i - 1) || valuesMs.get(i) < valuesMs.get(i - 1))) {
+                throw new IllegalArgumentException("Percentiles and their values must be increasing");
+            }
+        }
+
+        long[] table = new long[EMPIRICAL_TABLE_SIZE];
+        int segment = 0;
+        for (int i = 0; i < EMPIRICAL_TABLE_SIZE; i++) {
+            double q = (i + 0.5) * 100.0 / EMPIRICAL_TABLE_SIZE;
+            while (segment < percentiles.size() - 1 && percentiles.get(segment + 1) < q) {
+                segment++;
+            }
+
+            if (q <= percentiles.getFirst()) {
+                table[i] = valuesMs.getFirst();
+            } else if (segment == percentiles.size() - 1) {
+                table[i] = valuesMs.getLast();
+            } else {
+                double p0 = percentiles.get(segment);
+                double p1 = percentiles.get(segment + 1);
+                long v0 = valuesMs.get(segment);
+                long v1 = valuesMs.get(segment + 1);
+                table[i] = Math.round(v0 + (v1 - v0) * (q - p0) / (p1 - p0));
+            }
+        }
+        return table;
+    }
+
+    private static int[] buildErrorCodes(List<Integer> codes) {
+        if (codes == null || codes.isEmpty()) {
+            return new int[]{500};
+        }
+
+        int[] result = new int[codes.size()];
+        for (int i = 0; i < codes.size(); i++) {
+            int code = codes.get(i);
+            if (code < 100 || code > 599) {
+                throw new IllegalArgumentException("Invalid HTTP code: " + code);
+            }
+            result[i] = code;
+        }
+        return result;
+    }
+
+    private static double[] buildCumulativeWeights(int size, List<Double> weights) {
+        if (weights != null && !weights.isEmpty() && weights.size() != size) {
+            throw new IllegalArgumentException("errorCodeWeights must match errorCodes");
+        }
+
+        double total = 0;
+        double[] cumulative = new double[size];
+        for (int i = 0; i < size; i++) {
+            double weight = weights == null || weights.isEmpty() ? 1 : weights.get(i);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative: " + weight);
+            }
+            total += weight;
+            cumulative[i] = total;
+        }
+
+        if (total <= 0) {
+            throw new IllegalArgumentException("errorCodeWeights must have positive sum");
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static double probability(Double value, String name) {
+        if (value == null) {
+            return 0;
+        }
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException(name + " must be in [0, 1]");
+        }
+        return value;
+    }
+
+    private static void requirePositive(double value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+}
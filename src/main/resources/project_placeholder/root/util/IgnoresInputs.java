@@ -0,0 +1,15 @@
+package org.openapitools.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Контроллер или метод не читает свои параметры, поэтому тело запроса не разбирается и не валидируется,
+ * а только вычитывается из потока.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IgnoresInputs {
+}
@@ -0,0 +1,200 @@
+package org.openapitools.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Сэмплер решений для конъюнкции линейных ограничений {@code sum(a[k][i] * x[i]) + c[k] REL 0} без солвера.
+ * Переменные по очереди получают равномерно случайное значение из области, суженной распространением границ.
+ * Если распространение упирается в пустую область, попытка повторяется; после нескольких неудач
+ * возвращается null, и сгенерированный код переходит к солверу.
+ * Строгие ограничения над вещественными переменными распространяются как нестрогие,
+ * а строгость проверяется на готовом решении.
+ */
+public final class LinearSampler {
+
+    public static final int LE = 0;
+    public static final int EQ = 1;
+    public static final int LT = 2;
+
+    private static final int MAX_ATTEMPTS = 16;
+    private static final int MAX_PROPAGATION_PASSES = 64;
+    private static final double EPSILON = 1e-9;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final boolean[] integral;
+    private final double[] lower;
+    private final double[] upper;
+    private final double[][] coefficients;
+    private final int[] relations;
+
+    public LinearSampler(String[] names, boolean[] integral, double[] lower, double[] upper, double[][] coefficients, int[] relations) {
+        for (int i = 0; i < names.length; i++) {
+            indexes.put(names[i], i);
+        }
+        this.integral = integral;
+        this.lower = lower;
+        this.upper = upper;
+        this.coefficients = coefficients;
+        this.relations = relations;
+    }
+
+    /**
+     * @param constants свободные члены ограничений, вычисленные по параметрам запроса
+     * @return решение или null, если его не удалось найти распространением границ
+     */
+    public SolutionValues sample(double[] constants) {
+        double[] lo = lower.clone();
+        double[] hi = upper.clone();
+        if (!propagate(lo, hi, constants)) {
+            return null;
+        }
+
+        double[] workLo = new double[lo.length];
+        double[] workHi = new double[hi.length];
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            System.arraycopy(lo, 0, workLo, 0, lo.length);
+            System.arraycopy(hi, 0, workHi, 0, hi.length);
+            if (assign(workLo, workHi, constants)) {
+                return new Values(workLo);
+            }
+        }
+        return null;
+    }
+
+    private boolean assign(double[] lo, double[] hi, double[] constants) {
+        for (int i = 0; i < lo.length; i++) {
+            double value;
+            if (hi[i] - lo[i] <= EPSILON) {
+                // consistent() допускает lo чуть выше hi из-за округления, а Random.nextDouble требует origin < bound
+                value = lo[i];
+            } else {
+                value = integral[i]
+                        ? lo[i] + RandomData.nextLong((long) (hi[i] - lo[i]) + 1)
+                        : RandomData.nextDouble(lo[i], hi[i]);
+            }
+            lo[i] = value;
+            hi[i] = value;
+            if (!propagate(lo, hi, constants)) {
+                return false;
+            }
+        }
+        return satisfiesStrict(lo, constants);
+    }
+
+    // Область, сжатая строгим ограничением в точку на границе, даёт значение, которое ограничение запрещает
+    private boolean satisfiesStrict(double[] values, double[] constants) {
+        for (int k = 0; k < coefficients.length; k++) {
+            if (relations[k] != LT) {
+                continue;
+            }
+            double sum = constants[k];
+            for (int i = 0; i < values.length; i++) {
+                sum += coefficients[k][i] * values[i];
+            }
+            if (sum >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Распространение границ до неподвижной точки.
+     *
+     * @return false, если область какой-то переменной стала пустой
+     */
+    private boolean propagate(double[] lo, double[] hi, double[] constants) {
+        for (int pass = 0; pass < MAX_PROPAGATION_PASSES; pass++) {
+            boolean changed = false;
+            for (int k = 0; k < coefficients.length; k++) {
+                changed |= propagateUpper(coefficients[k], constants[k], 1, lo, hi);
+                if (relations[k] == EQ) {
+                    // a·x + c = 0 равносильно ещё и -a·x - c <= 0
+                    changed |= propagateUpper(coefficients[k], constants[k], -1, lo, hi);
+                }
+                if (!consistent(lo, hi)) {
+                    return false;
+                }
+            }
+            if (!changed) {
+                return true;
+            }
+        }
+        return consistent(lo, hi);
+    }
+
+    // sign * (a·x + c) <= 0: для каждой переменной a_i·x_i <= -c - min(сумма остальных)
+    private boolean propagateUpper(double[] a, double c, double sign, double[] lo, double[] hi) {
+        double minSum = sign * c;
+        for (int i = 0; i < a.length; i++) {
+            double coefficient = sign * a[i];
+            minSum += coefficient > 0 ? coefficient * lo[i] : coefficient * hi[i];
+        }
+
+        boolean changed = false;
+        for (int i = 0; i < a.length; i++) {
+            double coefficient = sign * a[i];
+            if (coefficient == 0) {
+                continue;
+            }
+            double own = coefficient > 0 ? coefficient * lo[i] : coefficient * hi[i];
+            double bound = (own - minSum) / coefficient;
+            if (coefficient > 0) {
+                double newHi = integral[i] ? Math.floor(bound + EPSILON) : bound;
+                if (newHi < hi[i] - EPSILON) {
+                    hi[i] = newHi;
+                    changed = true;
+                }
+            } else {
+                double newLo = integral[i] ? Math.ceil(bound - EPSILON) : bound;
+                if (newLo > lo[i] + EPSILON) {
+                    lo[i] = newLo;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean consistent(double[] lo, double[] hi) {
+        for (int i = 0; i < lo.length; i++) {
+            if (lo[i] > hi[i] + EPSILON) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class Values implements SolutionValues {
+
+        private final double[] values;
+
+        private Values(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public int intValue(String name) {
+            return (int) Math.round(values[index(name)]);
+        }
+
+        @Override
+        public double realLowerBound(String name) {
+            return values[index(name)];
+        }
+
+        @Override
+        public double realUpperBound(String name) {
+            return values[index(name)];
+        }
+
+        private int index(String name) {
+            Integer index = indexes.get(name);
+            if (index == null) {
+                throw new IllegalStateException("Unknown solver variable: " + name);
+            }
+            return index;
+        }
+    }
+}
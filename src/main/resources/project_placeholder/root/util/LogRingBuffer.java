@@ -0,0 +1,82 @@
+package org.openapitools.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограниченный неблокирующий буфер событий логирования: много писателей, один читатель.
+ * Слоты выделены заранее и переиспользуются, поэтому запись события не создаёт объектов.
+ * Если буфер заполнен, событие отбрасывается — запрос никогда не ждёт логирования.
+ */
+final class LogRingBuffer {
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    LogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+        }
+    }
+
+    boolean offer(RequestLog.EventKind kind, String method, String endpoint, long value, int status, long timestampMillis) {
+        long position = tail.get();
+        Slot slot;
+        while (true) {
+            slot = slots[(int) (position & mask)];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        slot.kind = kind;
+        slot.method = method;
+        slot.endpoint = endpoint;
+        slot.value = value;
+        slot.status = status;
+        slot.timestampMillis = timestampMillis;
+        slot.sequence = position + 1;
+        return true;
+    }
+
+    /**
+     * Вызывается только потоком-писателем. Возвращённый слот валиден до вызова {@link #release(Slot)}.
+     */
+    Slot peek() {
+        Slot slot = slots[(int) (head & mask)];
+        return slot.sequence == head + 1 ? slot : null;
+    }
+
+    void release(Slot slot) {
+        slot.method = null;
+        slot.endpoint = null;
+        slot.sequence = head + mask + 1;
+        head++;
+    }
+
+    static final class Slot {
+        private volatile long sequence;
+        RequestLog.EventKind kind;
+        String method;
+        String endpoint;
+        long value;
+        int status;
+        long timestampMillis;
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
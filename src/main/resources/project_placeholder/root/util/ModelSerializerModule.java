@@ -0,0 +1,22 @@
+package org.openapitools.util;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Базовый класс сгенерированного модуля сериализаторов моделей.
+ * Сериализаторы пишут поля напрямую через JsonGenerator без интроспекции бинов.
+ */
+public abstract class ModelSerializerModule extends SimpleModule {
+
+    protected ModelSerializerModule() {
+        super("ModelSerializers");
+    }
+
+    /**
+     * @return генераторы случайных экземпляров моделей, для которых есть сериализатор
+     */
+    public abstract List<Supplier<?>> samples();
+}
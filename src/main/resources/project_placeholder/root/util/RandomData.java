@@ -0,0 +1,200 @@
+package org.openapitools.util;
+
+import com.github.curiousoddman.rgxgen.RgxGen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Общий источник случайных данных для сгенерированных контроллеров.
+ * По умолчанию использует {@link ThreadLocalRandom}; если запрос пришёл с заголовком
+ * {@link #SEED_HEADER}, на время запроса подставляется переиспользуемый генератор потока
+ * с этим зерном, и ответы становятся воспроизводимыми.
+ * <p>
+ * Размер ответа ограничен бюджетами: глубиной вложенности моделей, размером коллекций на
+ * каждом уровне и общим числом объектов на запрос. При исчерпании бюджета модель
+ * становится null, а коллекция — пустой или укороченной.
+ */
+public final class RandomData {
+
+    public static final String SEED_HEADER = "X-Mock-Seed";
+
+    private static final ThreadLocal<Random> SEEDED = ThreadLocal.withInitial(Random::new);
+    private static final ThreadLocal<Random> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Budget> BUDGET = ThreadLocal.withInitial(Budget::new);
+
+    private static volatile Limits limits = new Limits(8, 10_000, new int[]{10});
+
+    private RandomData() {
+    }
+
+    public static void configure(int maxDepth, int maxObjects, int[] maxCollectionSizes) {
+        if (maxDepth < 1 || maxObjects < 1) {
+            throw new IllegalArgumentException("maxDepth and maxObjects must be at least 1");
+        }
+        if (maxCollectionSizes.length == 0) {
+            throw new IllegalArgumentException("maxCollectionSizes must not be empty");
+        }
+        for (int size : maxCollectionSizes) {
+            if (size < 1) {
+                throw new IllegalArgumentException("Collection size must be at least 1");
+            }
+        }
+        limits = new Limits(maxDepth, maxObjects, maxCollectionSizes.clone());
+    }
+
+    public static int getMaxDepth() {
+        return limits.maxDepth();
+    }
+
+    public static int getMaxObjects() {
+        return limits.maxObjects();
+    }
+
+    public static int[] getMaxCollectionSizes() {
+        return limits.maxCollectionSizes().clone();
+    }
+
+    /**
+     * Начало запроса: сбрасывает бюджет объектов потока.
+     */
+    public static void beginRequest() {
+        Budget budget = BUDGET.get();
+        budget.depth = 0;
+        budget.objects = 0;
+    }
+
+    /**
+     * Вызывается фабричным методом модели перед созданием объекта.
+     *
+     * @return false, если бюджет исчерпан и вместо объекта нужно вернуть null
+     */
+    public static boolean enter() {
+        Budget budget = BUDGET.get();
+        Limits current = limits;
+        if (budget.depth >= current.maxDepth() || budget.objects >= current.maxObjects()) {
+            return false;
+        }
+        budget.depth++;
+        budget.objects++;
+        return true;
+    }
+
+    public static void exit() {
+        BUDGET.get().depth--;
+    }
+
+    public static Random random() {
+        Random random = CURRENT.get();
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    public static void seed(long seed) {
+        Random random = SEEDED.get();
+        random.setSeed(seed);
+        CURRENT.set(random);
+    }
+
+    public static void clearSeed() {
+        CURRENT.remove();
+    }
+
+    public static int nextInt(int bound) {
+        return random().nextInt(bound);
+    }
+
+    public static int nextInt(int origin, int bound) {
+        return random().nextInt(origin, bound);
+    }
+
+    public static long nextLong() {
+        return random().nextLong();
+    }
+
+    public static long nextLong(long bound) {
+        return random().nextLong(bound);
+    }
+
+    public static double nextDouble() {
+        return random().nextDouble();
+    }
+
+    public static double nextDouble(double origin, double bound) {
+        return origin == bound ? origin : random().nextDouble(origin, bound);
+    }
+
+    public static float nextFloat() {
+        return random().nextFloat();
+    }
+
+    public static boolean nextBoolean() {
+        return random().nextBoolean();
+    }
+
+    public static RgxGen pattern(String regex) {
+        return RgxGen.parse(regex);
+    }
+
+    public static String string(RgxGen pattern) {
+        return pattern.generate(random());
+    }
+
+    public static <T> List<T> list(int minSize, Supplier<T> element) {
+        int size = collectionSize(minSize);
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            T value = element.get();
+            if (value == null && isExhausted()) {
+                break;
+            }
+            list.add(value);
+        }
+        return list;
+    }
+
+    public static <K, V> Map<K, V> map(int minSize, Supplier<K> key, Supplier<V> value) {
+        int size = collectionSize(minSize);
+        Map<K, V> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            K k = key.get();
+            V v = value.get();
+            if ((k == null || v == null) && isExhausted()) {
+                break;
+            }
+            map.putIfAbsent(k, v);
+        }
+        return map;
+    }
+
+    private static int collectionSize(int minSize) {
+        Budget budget = BUDGET.get();
+        Limits current = limits;
+        if (budget.depth >= current.maxDepth() || budget.objects >= current.maxObjects()) {
+            return 0;
+        }
+
+        int[] sizes = current.maxCollectionSizes();
+        int maxSize = sizes[Math.min(budget.depth, sizes.length - 1)];
+        int size = nextInt(Math.min(minSize, maxSize), maxSize + 1);
+        return Math.min(size, current.maxObjects() - budget.objects);
+    }
+
+    private static boolean isExhausted() {
+        Budget budget = BUDGET.get();
+        Limits current = limits;
+        return budget.depth >= current.maxDepth() || budget.objects >= current.maxObjects();
+    }
+
+    private record Limits(int maxDepth, int maxObjects, int[] maxCollectionSizes) {
+    }
+
+    private static final class Budget {
+        private int depth;
+        private int objects;
+    }
+}
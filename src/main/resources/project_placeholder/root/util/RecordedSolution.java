@@ -0,0 +1,57 @@
+package org.openapitools.util;
+
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.RealVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.Map;
+
+/**
+ * Снимок решения, найденного солвером. Значения копируются под блокировкой перечислителя
+ * и не ссылаются на модель, поэтому их можно хранить в кэше и читать без синхронизации.
+ */
+final class RecordedSolution implements SolutionValues {
+
+    private final Map<String, Integer> columns;
+    private final int[] ints;
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+
+    RecordedSolution(Map<String, Integer> columns, Variable[] variables) {
+        this.columns = columns;
+        this.ints = new int[variables.length];
+        this.lowerBounds = new double[variables.length];
+        this.upperBounds = new double[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i] instanceof IntVar intVar) {
+                ints[i] = intVar.isInstantiated() ? intVar.getValue() : intVar.getLB();
+            } else if (variables[i] instanceof RealVar realVar) {
+                lowerBounds[i] = realVar.getLB();
+                upperBounds[i] = realVar.getUB();
+            }
+        }
+    }
+
+    @Override
+    public int intValue(String name) {
+        return ints[column(name)];
+    }
+
+    @Override
+    public double realLowerBound(String name) {
+        return lowerBounds[column(name)];
+    }
+
+    @Override
+    public double realUpperBound(String name) {
+        return upperBounds[column(name)];
+    }
+
+    private int column(String name) {
+        Integer column = columns.get(name);
+        if (column == null) {
+            throw new IllegalStateException("Unknown solver variable: " + name);
+        }
+        return column;
+    }
+}
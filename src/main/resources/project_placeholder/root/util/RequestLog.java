@@ -0,0 +1,159 @@
+package org.openapitools.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Логирование запросов сгенерированного сервиса. Поток запроса только кладёт событие в
+ * {@link LogRingBuffer}, форматирует и пишет его фоновый поток. Выборка 1 из N и бюджет
+ * событий в секунду ограничивают стоимость логирования независимо от нагрузки.
+ */
+@Slf4j
+@Component
+public class RequestLog {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long DROPPED_REPORT_INTERVAL_MILLIS = 10_000;
+
+    public enum EventKind {
+        INCOMING, DELAY, OVERRIDE, ABORT, ERROR, ACCESS
+    }
+
+    private final LogRingBuffer buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private Thread writer;
+    private volatile boolean running;
+
+    @Getter
+    private volatile boolean async;
+    @Getter
+    private volatile int sampleEvery;
+    @Getter
+    private volatile int budgetPerSecond;
+    @Getter
+    private volatile boolean accessLogEnabled;
+    private volatile TokenBucket budget;
+
+    public RequestLog(@Value("${mock.logging.async:true}") boolean async,
+                      @Value("${mock.logging.buffer-size:8192}") int bufferSize,
+                      @Value("${mock.logging.sample-every:1}") int sampleEvery,
+                      @Value("${mock.logging.budget-per-second:0}") int budgetPerSecond,
+                      @Value("${mock.logging.access-log:false}") boolean accessLogEnabled) {
+        this.buffer = new LogRingBuffer(bufferSize);
+        configure(async, sampleEvery, budgetPerSecond, accessLogEnabled);
+    }
+
+    public void configure(boolean async, int sampleEvery, int budgetPerSecond, boolean accessLogEnabled) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery must be at least 1");
+        }
+        if (budgetPerSecond < 0) {
+            throw new IllegalArgumentException("budgetPerSecond must not be negative");
+        }
+        this.sampleEvery = sampleEvery;
+        this.budgetPerSecond = budgetPerSecond;
+        this.budget = budgetPerSecond > 0 ? new TokenBucket(budgetPerSecond, budgetPerSecond) : null;
+        this.accessLogEnabled = accessLogEnabled;
+        this.async = async;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "request-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    public void incoming(String method, String endpoint) {
+        record(EventKind.INCOMING, method, endpoint, 0, 0);
+    }
+
+    public void event(EventKind kind, String endpoint, long value) {
+        record(kind, null, endpoint, value, 0);
+    }
+
+    public void access(String method, String endpoint, int status, long durationNanos) {
+        if (accessLogEnabled) {
+            record(EventKind.ACCESS, method, endpoint, durationNanos, status);
+        }
+    }
+
+    private void record(EventKind kind, String method, String endpoint, long value, int status) {
+        if (!isSampled()) {
+            return;
+        }
+
+        long timestamp = System.currentTimeMillis();
+        if (!async) {
+            write(kind, method, endpoint, value, status, timestamp);
+            return;
+        }
+        if (!buffer.offer(kind, method, endpoint, value, status, timestamp)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private boolean isSampled() {
+        int every = sampleEvery;
+        if (every > 1 && ThreadLocalRandom.current().nextInt(every) != 0) {
+            return false;
+        }
+        TokenBucket currentBudget = budget;
+        return currentBudget == null || currentBudget.tryAcquire() == 0;
+    }
+
+    private void drainLoop() {
+        long lastDroppedReport = System.currentTimeMillis();
+        while (running) {
+            LogRingBuffer.Slot slot = buffer.peek();
+            if (slot == null) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else {
+                write(slot.kind, slot.method, slot.endpoint, slot.value, slot.status, slot.timestampMillis);
+                buffer.release(slot);
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastDroppedReport >= DROPPED_REPORT_INTERVAL_MILLIS) {
+                long droppedCount = dropped.getAndSet(0);
+                if (droppedCount > 0) {
+                    log.warn("Dropped {} log events: buffer is full", droppedCount);
+                }
+                lastDroppedReport = now;
+            }
+        }
+    }
+
+    private static void write(EventKind kind, String method, String endpoint, long value, int status, long timestampMillis) {
+        switch (kind) {
+            case INCOMING -> log.info("Incoming request: {} {}", method, endpoint);
+            case DELAY -> log.info("Delay {} ms for endpoint {}", value, endpoint);
+            case OVERRIDE -> log.info("Override response code {} for endpoint {}", value, endpoint);
+            case ABORT -> log.info("Abort connection for endpoint {}", endpoint);
+            case ERROR -> log.info("Injected error code {} for endpoint {}", value, endpoint);
+            case ACCESS -> accessLog.info("{\"timestamp\":{},\"method\":\"{}\",\"path\":\"{}\",\"status\":{},\"durationMs\":{}}",
+                    timestampMillis, method, endpoint, status, String.format(Locale.ROOT, "%.3f", value / 1_000_000.0));
+        }
+    }
+}
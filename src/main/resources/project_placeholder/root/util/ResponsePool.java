@@ -0,0 +1,93 @@
+package org.openapitools.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Кольцо заранее сериализованных тел ответа одного эндпоинта.
+ * Запросы берут тела по кругу, фоновый поток постепенно заменяет их новыми.
+ */
+@Slf4j
+public final class ResponsePool {
+
+    private final int size;
+    private final double refreshPerSecond;
+    private final AtomicReferenceArray<byte[]> bodies;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicReference<Supplier<?>> supplier = new AtomicReference<>();
+    private ScheduledFuture<?> refresher;
+    private volatile boolean closed;
+    private int refreshIndex;
+
+    public ResponsePool(int size, double refreshPerSecond) {
+        if (size < 1) {
+            throw new IllegalArgumentException("responsePoolSize must be at least 1");
+        }
+        if (refreshPerSecond < 0) {
+            throw new IllegalArgumentException("responsePoolRefreshPerSecond must not be negative");
+        }
+        this.size = size;
+        this.refreshPerSecond = refreshPerSecond;
+        this.bodies = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * @return следующее тело или null, пока пул ещё не заполнен
+     */
+    public byte[] next() {
+        return bodies.get((int) Long.remainderUnsigned(cursor.getAndIncrement(), size));
+    }
+
+    /**
+     * Привязывает генератор тел при первом запросе и запускает заполнение пула.
+     */
+    void bind(Supplier<?> body, ObjectMapper objectMapper, ScheduledExecutorService scheduler) {
+        if (supplier.get() != null || !supplier.compareAndSet(null, body)) {
+            return;
+        }
+
+        scheduler.execute(() -> {
+            for (int i = 0; i < size && !closed; i++) {
+                refresh(i, objectMapper);
+            }
+            if (refreshPerSecond > 0) {
+                long periodNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refreshPerSecond));
+                // Под общей блокировкой с close(): иначе закрытие между проверкой и записью поля оставит задачу навсегда
+                synchronized (this) {
+                    if (!closed) {
+                        refresher = scheduler.scheduleAtFixedRate(() -> refreshNext(objectMapper), periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+        });
+    }
+
+    public synchronized void close() {
+        closed = true;
+        if (refresher != null) {
+            refresher.cancel(false);
+        }
+    }
+
+    private void refreshNext(ObjectMapper objectMapper) {
+        refresh(refreshIndex, objectMapper);
+        refreshIndex = (refreshIndex + 1) % size;
+    }
+
+    private void refresh(int index, ObjectMapper objectMapper) {
+        try {
+            RandomData.beginRequest();
+            bodies.set(index, objectMapper.writeValueAsBytes(supplier.get().get()));
+        } catch (Exception e) {
+            log.warn("Failed to pre-generate response body", e);
+        }
+    }
+}
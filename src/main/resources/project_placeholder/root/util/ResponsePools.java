@@ -0,0 +1,78 @@
+package org.openapitools.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Точка входа сгенерированных контроллеров в пулы ответов.
+ * Пул эндпоинта включается параметром responsePoolSize панели управления.
+ */
+@Component
+public class ResponsePools {
+
+    public static final String POOL_ATTRIBUTE = ResponsePools.class.getName() + ".pool";
+
+    private static volatile ObjectMapper objectMapper;
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "response-pool-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ResponsePools(ObjectMapper objectMapper) {
+        ResponsePools.objectMapper = objectMapper;
+    }
+
+    /**
+     * Отдаёт готовое тело из пула текущего эндпоинта с объявленными в спецификации статусом и типом содержимого.
+     *
+     * @return false, если пул не настроен или ещё не заполнен и ответ нужно сгенерировать обычным способом
+     */
+    public static boolean serve(Supplier<?> body, int status, String contentType) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+
+        ResponsePool pool = (ResponsePool) attributes.getAttribute(POOL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (pool == null) {
+            return false;
+        }
+
+        pool.bind(body, objectMapper, scheduler);
+        byte[] bytes = pool.next();
+        if (bytes == null) {
+            return false;
+        }
+
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        if (response == null) {
+            return false;
+        }
+        response.setStatus(status);
+        response.setContentType(contentType);
+        response.setContentLength(bytes.length);
+        try {
+            response.getOutputStream().write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write pooled response", e);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,95 @@
+package org.openapitools.util;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Сравнивает пропускную способность сгенерированных сериализаторов и стандартной сериализации Jackson
+ * на одних и тех же случайных моделях.
+ */
+@Component
+@RequiredArgsConstructor
+public class SerializationBenchmark {
+
+    private static final int SAMPLES_PER_MODEL = 64;
+    public static final int MAX_ITERATIONS = 100_000;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ModelSerializerModule> serializerModule;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder;
+    private final ObjectProvider<Module> modules;
+
+    public Map<String, Object> run(int iterations) {
+        if (iterations < 1 || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("iterations must be between 1 and " + MAX_ITERATIONS);
+        }
+
+        ModelSerializerModule module = serializerModule.getIfAvailable();
+        if (module == null) {
+            throw new IllegalStateException("No generated model serializers");
+        }
+
+        List<Object> samples = new ArrayList<>();
+        for (Supplier<?> supplier : module.samples()) {
+            for (int i = 0; i < SAMPLES_PER_MODEL; i++) {
+                RandomData.beginRequest();
+                Object sample = supplier.get();
+                if (sample != null) {
+                    samples.add(sample);
+                }
+            }
+        }
+        if (samples.isEmpty()) {
+            throw new IllegalStateException("No model samples to serialize");
+        }
+
+        // Тот же билдер Spring Boot, что и у основного маппера: настройки и модули совпадают, кроме сгенерированного
+        Jackson2ObjectMapperBuilder builder = mapperBuilder.getObject();
+        builder.modulesToInstall(modules.orderedStream()
+                .filter(candidate -> !(candidate instanceof ModelSerializerModule))
+                .toArray(Module[]::new));
+        ObjectMapper baseline = builder.build();
+
+        // Прогрев обоих путей перед замером
+        measure(objectMapper, samples, iterations);
+        measure(baseline, samples, iterations);
+
+        double generated = measure(objectMapper, samples, iterations);
+        double jackson = measure(baseline, samples, iterations);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("models", module.samples().size());
+        result.put("samples", samples.size());
+        result.put("iterations", iterations);
+        result.put("generatedOpsPerSecond", Math.round(generated));
+        result.put("jacksonOpsPerSecond", Math.round(jackson));
+        result.put("speedup", generated / jackson);
+        return result;
+    }
+
+    private static double measure(ObjectMapper mapper, List<Object> samples, int iterations) {
+        OutputStream sink = OutputStream.nullOutputStream();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                mapper.writeValue(sink, samples.get(i % samples.size()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Serialization failed", e);
+        }
+        return iterations * 1e9 / (System.nanoTime() - start);
+    }
+}
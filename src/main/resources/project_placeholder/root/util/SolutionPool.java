@@ -0,0 +1,216 @@
+package org.openapitools.util;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.Variable;
+import org.openapitools.model.EndpointOverrideConfig.SolverFallback;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Кэш решений контрактов эндпоинта по значениям параметров, от которых зависит модель.
+ * Для каждого набора параметров живой перечислитель собирает до solutionsPerKey решений, продолжая поиск
+ * с места предыдущего запроса. Когда набор собран или решения закончились, модель освобождается,
+ * и повторные запросы с теми же параметрами обходятся поиском в хэш-таблице без блокировок.
+ * Наборы параметров вытесняются по приближённому LRU: при переполнении удаляется набор
+ * с самым давним обращением.
+ * <p>
+ * Если для эндпоинта задан {@link SolverBudget}, каждое обращение к солверу ограничено им.
+ * При исчерпании бюджета поиск сбрасывается, а ответ определяет политика {@link SolverFallback}.
+ */
+public final class SolutionPool {
+
+    private static final Map<String, SolutionPool> POOLS = new ConcurrentHashMap<>();
+
+    private final int maxKeys;
+    private final int solutionsPerKey;
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SolutionPool(String name, int maxKeys, int solutionsPerKey) {
+        if (maxKeys < 1 || solutionsPerKey < 1) {
+            throw new IllegalArgumentException("maxKeys and solutionsPerKey must be at least 1");
+        }
+        this.maxKeys = maxKeys;
+        this.solutionsPerKey = solutionsPerKey;
+        POOLS.put(name, this);
+    }
+
+    /**
+     * @return статистика кэшей всех эндпоинтов по имени пула
+     */
+    public static Map<String, Stats> stats() {
+        Map<String, Stats> stats = new TreeMap<>();
+        POOLS.forEach((name, pool) -> stats.put(name, pool.getStats()));
+        return stats;
+    }
+
+    public static void resetStats() {
+        POOLS.values().forEach(pool -> {
+            pool.hits.reset();
+            pool.misses.reset();
+        });
+    }
+
+    /**
+     * @param key          значения параметров, от которых зависит модель
+     * @param modelFactory строит модель с ограничениями и стратегией поиска
+     * @return решение или null, если решений нет
+     * @throws SolverBudgetExceededException если бюджет исчерпан и сохранённое решение не подходит
+     */
+    public SolutionValues next(Object key, Supplier<Model> modelFactory) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(key, k -> new Entry(modelFactory));
+            if (entries.size() > maxKeys) {
+                evict();
+            }
+        }
+        entry.lastAccess = System.nanoTime();
+
+        SolutionValues[] complete = entry.complete;
+        if (complete != null) {
+            hits.increment();
+            return pick(complete);
+        }
+        return entry.next(SolverBudget.current());
+    }
+
+    // Вытеснение идёт только при добавлении ключа, то есть на пути с вызовом солвера
+    private synchronized void evict() {
+        while (entries.size() > maxKeys) {
+            Map.Entry<Object, Entry> oldest = null;
+            for (Map.Entry<Object, Entry> candidate : entries.entrySet()) {
+                if (oldest == null || candidate.getValue().lastAccess - oldest.getValue().lastAccess < 0) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private Stats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int keys = entries.size();
+        long total = hitCount + missCount;
+        return new Stats(hitCount, missCount, total == 0 ? 0 : (double) hitCount / total, keys);
+    }
+
+    private static SolutionValues pick(SolutionValues[] solutions) {
+        return solutions.length == 0 ? null : solutions[RandomData.nextInt(solutions.length)];
+    }
+
+    public record Stats(long hits, long misses, double hitRate, int keys) {
+    }
+
+    private final class Entry {
+
+        private final Supplier<Model> modelFactory;
+        private final List<SolutionValues> solutions = new ArrayList<>();
+        private SolutionValues lastGood;
+        private volatile long lastAccess = System.nanoTime();
+        // Собранный набор решений; после его появления солвер для этих параметров не вызывается
+        private volatile SolutionValues[] complete;
+
+        private Model model;
+        private Variable[] variables;
+        private Map<String, Integer> columns;
+
+        // Лимиты текущего обращения, отсчитываются от его начала
+        private long deadlineNanos;
+        private long nodeLimit;
+        private long failLimit;
+
+        Entry(Supplier<Model> modelFactory) {
+            this.modelFactory = modelFactory;
+        }
+
+        synchronized SolutionValues next(SolverBudget budget) {
+            // Набор мог собраться, пока запрос ждал блокировку
+            if (complete != null) {
+                hits.increment();
+                return pick(complete);
+            }
+            misses.increment();
+
+            if (model == null) {
+                rebuild();
+            }
+            if (!solve(budget)) {
+                if (model.getSolver().isStopCriterionMet()) {
+                    return exhausted(budget);
+                }
+                // Решения закончились раньше, чем набрался набор: кэшируем все найденные
+                return complete(pick(solutions.toArray(SolutionValues[]::new)));
+            }
+
+            lastGood = new RecordedSolution(columns, variables);
+            solutions.add(lastGood);
+            return solutions.size() >= solutionsPerKey ? complete(lastGood) : lastGood;
+        }
+
+        private SolutionValues complete(SolutionValues result) {
+            complete = solutions.toArray(SolutionValues[]::new);
+            solutions.clear();
+            model = null;
+            variables = null;
+            columns = null;
+            return result;
+        }
+
+        private boolean solve(SolverBudget budget) {
+            Solver solver = model.getSolver();
+            deadlineNanos = budget == null || budget.getTimeLimitNanos() == 0 ? 0 : System.nanoTime() + budget.getTimeLimitNanos();
+            nodeLimit = budget == null || budget.getNodeLimit() == 0 ? 0 : solver.getNodeCount() + budget.getNodeLimit();
+            failLimit = budget == null || budget.getFailLimit() == 0 ? 0 : solver.getFailCount() + budget.getFailLimit();
+            return solver.solve();
+        }
+
+        private SolutionValues exhausted(SolverBudget budget) {
+            // Прерванный поиск не продолжаем: следующее обращение построит модель заново
+            model = null;
+            budget.recordExhausted();
+            return switch (budget.getFallback()) {
+                case CACHED -> {
+                    if (lastGood == null) {
+                        throw new SolverBudgetExceededException(false);
+                    }
+                    yield lastGood;
+                }
+                case RANDOM -> throw new SolverBudgetExceededException(true);
+                case REJECT -> throw new SolverBudgetExceededException(false);
+            };
+        }
+
+        private boolean isBudgetExhausted(Solver solver) {
+            return deadlineNanos != 0 && System.nanoTime() - deadlineNanos > 0
+                    || nodeLimit != 0 && solver.getNodeCount() >= nodeLimit
+                    || failLimit != 0 && solver.getFailCount() >= failLimit;
+        }
+
+        private void rebuild() {
+            // Перечисление начинается сначала, ранее собранные решения повторились бы
+            solutions.clear();
+            model = modelFactory.get();
+            Solver solver = model.getSolver();
+            solver.addStopCriterion(() -> isBudgetExhausted(solver));
+            variables = model.getVars();
+            columns = new HashMap<>();
+            for (int i = 0; i < variables.length; i++) {
+                columns.put(variables[i].getName(), i);
+            }
+        }
+    }
+}
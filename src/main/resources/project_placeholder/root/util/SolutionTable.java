@@ -0,0 +1,73 @@
+package org.openapitools.util;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Решения контрактов, найденные при генерации сервиса. На запросе выбирается случайная строка таблицы,
+ * солвер не используется.
+ */
+public final class SolutionTable {
+
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final int[][] rows;
+
+    /**
+     * @param encodedRows строки таблицы подряд как big-endian int, закодированные в Base64
+     */
+    public SolutionTable(String[] names, String encodedRows) {
+        for (int i = 0; i < names.length; i++) {
+            columns.put(names[i], i);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encodedRows));
+        int rowBytes = names.length * Integer.BYTES;
+        if (rowBytes == 0 || buffer.remaining() % rowBytes != 0) {
+            throw new IllegalArgumentException("Malformed solution table");
+        }
+        this.rows = new int[buffer.remaining() / rowBytes][names.length];
+        for (int[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = buffer.getInt();
+            }
+        }
+    }
+
+    /**
+     * @return случайное решение или null, если при генерации решений не нашлось
+     */
+    public SolutionValues next() {
+        return rows.length == 0 ? null : new Row(rows[RandomData.nextInt(rows.length)]);
+    }
+
+    private final class Row implements SolutionValues {
+
+        private final int[] values;
+
+        private Row(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public int intValue(String name) {
+            Integer column = columns.get(name);
+            if (column == null) {
+                throw new IllegalStateException("Unknown solver variable: " + name);
+            }
+            return values[column];
+        }
+
+        // Целое значение — вырожденный интервал
+        @Override
+        public double realLowerBound(String name) {
+            return intValue(name);
+        }
+
+        @Override
+        public double realUpperBound(String name) {
+            return intValue(name);
+        }
+    }
+}
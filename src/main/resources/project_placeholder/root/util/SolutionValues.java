@@ -0,0 +1,17 @@
+package org.openapitools.util;
+
+/**
+ * Значения переменных одного решения контрактов по именам переменных модели.
+ */
+public interface SolutionValues {
+
+    int intValue(String name);
+
+    default boolean boolValue(String name) {
+        return intValue(name) == 1;
+    }
+
+    double realLowerBound(String name);
+
+    double realUpperBound(String name);
+}
@@ -0,0 +1,47 @@
+package org.openapitools.util;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.openapitools.model.EndpointOverrideConfig.SolverFallback;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Ограничения одного обращения к солверу эндпоинта: время, число узлов и неудач поиска.
+ * Нулевой лимит означает отсутствие ограничения. При исчерпании применяется {@link SolverFallback}.
+ */
+@Getter
+public final class SolverBudget {
+
+    public static final String ATTRIBUTE = SolverBudget.class.getName() + ".budget";
+
+    private final long timeLimitNanos;
+    private final long nodeLimit;
+    private final long failLimit;
+    private final SolverFallback fallback;
+    @Getter(AccessLevel.NONE)
+    private final Runnable onExhausted;
+
+    public SolverBudget(long timeLimitMs, long nodeLimit, long failLimit, SolverFallback fallback, Runnable onExhausted) {
+        if (timeLimitMs < 0 || nodeLimit < 0 || failLimit < 0) {
+            throw new IllegalArgumentException("Solver limits must not be negative");
+        }
+        this.timeLimitNanos = timeLimitMs * 1_000_000;
+        this.nodeLimit = nodeLimit;
+        this.failLimit = failLimit;
+        this.fallback = fallback;
+        this.onExhausted = onExhausted;
+    }
+
+    /**
+     * Бюджет эндпоинта текущего запроса или null, если он не настроен.
+     */
+    public static SolverBudget current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null : (SolverBudget) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    void recordExhausted() {
+        onExhausted.run();
+    }
+}
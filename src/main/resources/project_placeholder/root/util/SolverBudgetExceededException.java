@@ -0,0 +1,19 @@
+package org.openapitools.util;
+
+import lombok.Getter;
+
+/**
+ * Солвер не уложился в бюджет эндпоинта, а сохранённого решения для политики CACHED нет.
+ * Сгенерированный контроллер подменяет ответ случайным объектом, если {@link #isRandomFallback()},
+ * иначе исключение превращается в 422.
+ */
+@Getter
+public class SolverBudgetExceededException extends RuntimeException {
+
+    private final boolean randomFallback;
+
+    public SolverBudgetExceededException(boolean randomFallback) {
+        super("Solver budget exceeded for the given constraints");
+        this.randomFallback = randomFallback;
+    }
+}
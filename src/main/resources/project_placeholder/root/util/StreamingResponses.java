@@ -0,0 +1,71 @@
+package org.openapitools.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * Потоковая отдача больших массивов: элементы генерируются по одному и сразу пишутся
+ * в выходной поток через {@link JsonGenerator}, поэтому память не зависит от размера ответа.
+ * Включается для эндпоинта параметром streamArraySize панели управления.
+ */
+@Component
+public class StreamingResponses {
+
+    public static final String SIZE_ATTRIBUTE = StreamingResponses.class.getName() + ".size";
+
+    // Сбрасывать поток клиенту раз в столько элементов, а не после каждого
+    private static final int FLUSH_EVERY = 1024;
+
+    private static volatile ObjectMapper objectMapper;
+    private static volatile ObjectWriter elementWriter;
+
+    public StreamingResponses(ObjectMapper objectMapper) {
+        StreamingResponses.objectMapper = objectMapper;
+        // По умолчанию writeValue сбрасывает генератор после каждого значения
+        StreamingResponses.elementWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public static boolean isRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(SIZE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    public static <T> void writeArray(Supplier<T> element) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        int size = (Integer) attributes.getAttribute(SIZE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null) {
+            throw new IllegalStateException("No response bound to the current request");
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            for (int i = 0; i < size; i++) {
+                // Бюджет генерации считается на элемент, а не на весь массив
+                RandomData.beginRequest();
+                elementWriter.writeValue(generator, element.get());
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream response", e);
+        }
+    }
+}
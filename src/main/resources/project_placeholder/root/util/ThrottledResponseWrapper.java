@@ -0,0 +1,128 @@
+package org.openapitools.util;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Обёртка ответа, которая отдаёт тело с ограниченной скоростью.
+ * Пока {@link #throttle(long)} не вызван, все вызовы прозрачно уходят в исходный ответ.
+ */
+public class ThrottledResponseWrapper extends HttpServletResponseWrapper {
+
+    // Размер порции в долях секунды: 10 порций в секунду
+    private static final int CHUNKS_PER_SECOND = 10;
+
+    private long bytesPerSecond;
+    private ServletOutputStream throttledStream;
+    private PrintWriter throttledWriter;
+
+    public ThrottledResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    public void throttle(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (bytesPerSecond <= 0) {
+            return super.getOutputStream();
+        }
+        if (throttledStream == null) {
+            throttledStream = new ThrottledOutputStream(super.getOutputStream(), bytesPerSecond);
+        }
+        return throttledStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (bytesPerSecond <= 0) {
+            return super.getWriter();
+        }
+        if (throttledWriter == null) {
+            throttledWriter = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return throttledWriter;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (throttledWriter != null) {
+            throttledWriter.flush();
+        }
+        super.flushBuffer();
+    }
+
+    private static final class ThrottledOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final int chunkSize;
+        private final long nanosPerChunk;
+        private long nextChunkAt;
+
+        private ThrottledOutputStream(ServletOutputStream delegate, long bytesPerSecond) {
+            this.delegate = delegate;
+            this.chunkSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytesPerSecond / CHUNKS_PER_SECOND));
+            this.nanosPerChunk = 1_000_000_000L * chunkSize / bytesPerSecond;
+            this.nextChunkAt = System.nanoTime();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            awaitChunk();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int portion = Math.min(len, chunkSize);
+                awaitChunk();
+                delegate.write(b, off, portion);
+                delegate.flush();
+                off += portion;
+                len -= portion;
+            }
+        }
+
+        private void awaitChunk() throws IOException {
+            long waitNanos = nextChunkAt - System.nanoTime();
+            if (waitNanos > 0) {
+                try {
+                    Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while throttling response", e);
+                }
+            }
+            nextChunkAt = Math.max(nextChunkAt, System.nanoTime() - nanosPerChunk) + nanosPerChunk;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
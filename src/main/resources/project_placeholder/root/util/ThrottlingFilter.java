@@ -0,0 +1,35 @@
+package org.openapitools.util;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.openapitools.service.ControlPanelService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Оборачивает ответ в {@link ThrottledResponseWrapper}, если хотя бы у одного эндпоинта
+ * настроено ограничение скорости. Само ограничение включает {@link EndpointInterceptor}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ThrottlingFilter extends OncePerRequestFilter {
+
+    private final ControlPanelService controlPanelService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!controlPanelService.isThrottlingEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ThrottledResponseWrapper wrapper = new ThrottledResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        wrapper.flushBuffer();
+    }
+}
@@ -0,0 +1,44 @@
+package org.openapitools.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Неблокирующий token bucket в форме GCRA: всё состояние — одно теоретическое время прихода
+ * следующего запроса, которое обновляется через CAS.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("rateLimitPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("rateLimitBurst must be at least 1");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @return 0, если токен получен, иначе через сколько наносекунд появится следующий токен
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long overflow = newTat - now - burstToleranceNanos;
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.openapitools.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Вместо десериализации и валидации тела для обработчиков с {@link IgnoresInputs}
+ * вычитывает тело из потока и передаёт null. Должен стоять перед стандартными резолверами.
+ */
+public class UnusedBodyArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(RequestBody.class)
+                && (AnnotatedElementUtils.hasAnnotation(parameter.getMethod(), IgnoresInputs.class)
+                || AnnotatedElementUtils.hasAnnotation(parameter.getContainingClass(), IgnoresInputs.class));
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request != null) {
+            // Тело вычитывается, чтобы соединение осталось пригодным для keep-alive
+            try (InputStream body = request.getInputStream()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return null;
+    }
+}
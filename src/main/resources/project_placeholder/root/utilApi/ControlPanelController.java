@@ -2,9 +2,15 @@ package org.openapitools.utilApi;
 
 import lombok.RequiredArgsConstructor;
 import org.openapitools.model.EndpointOverrideConfig;
+import org.openapitools.model.EndpointOverrideConfig.LatencyDistribution;
+import org.openapitools.model.EndpointOverrideConfig.SolverFallback;
 import org.openapitools.service.ControlPanelService;
+import org.openapitools.util.RandomData;
+import org.openapitools.util.RequestLog;
+import org.openapitools.util.SerializationBenchmark;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -13,6 +19,8 @@ import java.util.Map;
 public class ControlPanelController {
 
     private final ControlPanelService controlPanelService;
+    private final RequestLog requestLog;
+    private final SerializationBenchmark serializationBenchmark;
 
     @GetMapping("/configs")
     public Map<String, EndpointOverrideConfig> getAllConfigs() {
@@ -23,10 +31,54 @@ public class ControlPanelController {
     public void setConfig(
             @RequestParam String endpoint,
             @RequestParam(required = false) Long delayMs,
-            @RequestParam(required = false) Integer httpCodeOverride) {
+            @RequestParam(required = false) Integer httpCodeOverride,
+            @RequestParam(required = false) LatencyDistribution latencyDistribution,
+            @RequestParam(required = false) Double latencyMeanMs,
+            @RequestParam(required = false) Double latencyStdDevMs,
+            @RequestParam(required = false) Double latencyParetoShape,
+            @RequestParam(required = false) List<Double> latencyPercentiles,
+            @RequestParam(required = false) List<Long> latencyPercentileValuesMs,
+            @RequestParam(required = false) Double errorProbability,
+            @RequestParam(required = false) List<Integer> errorCodes,
+            @RequestParam(required = false) List<Double> errorCodeWeights,
+            @RequestParam(required = false) Double abortProbability,
+            @RequestParam(required = false) Long throttleBytesPerSecond,
+            @RequestParam(required = false) Double rateLimitPerSecond,
+            @RequestParam(required = false) Integer rateLimitBurst,
+            @RequestParam(required = false) Integer maxConcurrency,
+            @RequestParam(required = false) Long maxQueueWaitMs,
+            @RequestParam(required = false) Integer streamArraySize,
+            @RequestParam(required = false) Integer responsePoolSize,
+            @RequestParam(required = false) Double responsePoolRefreshPerSecond,
+            @RequestParam(required = false) Long solverTimeLimitMs,
+            @RequestParam(required = false) Long solverNodeLimit,
+            @RequestParam(required = false) Long solverFailLimit,
+            @RequestParam(required = false) SolverFallback solverFallback) {
         EndpointOverrideConfig config = new EndpointOverrideConfig();
         config.setDelayMs(delayMs);
         config.setHttpCodeOverride(httpCodeOverride);
+        config.setLatencyDistribution(latencyDistribution);
+        config.setLatencyMeanMs(latencyMeanMs);
+        config.setLatencyStdDevMs(latencyStdDevMs);
+        config.setLatencyParetoShape(latencyParetoShape);
+        config.setLatencyPercentiles(latencyPercentiles);
+        config.setLatencyPercentileValuesMs(latencyPercentileValuesMs);
+        config.setErrorProbability(errorProbability);
+        config.setErrorCodes(errorCodes);
+        config.setErrorCodeWeights(errorCodeWeights);
+        config.setAbortProbability(abortProbability);
+        config.setThrottleBytesPerSecond(throttleBytesPerSecond);
+        config.setRateLimitPerSecond(rateLimitPerSecond);
+        config.setRateLimitBurst(rateLimitBurst);
+        config.setMaxConcurrency(maxConcurrency);
+        config.setMaxQueueWaitMs(maxQueueWaitMs);
+        config.setStreamArraySize(streamArraySize);
+        config.setResponsePoolSize(responsePoolSize);
+        config.setResponsePoolRefreshPerSecond(responsePoolRefreshPerSecond);
+        config.setSolverTimeLimitMs(solverTimeLimitMs);
+        config.setSolverNodeLimit(solverNodeLimit);
+        config.setSolverFailLimit(solverFailLimit);
+        config.setSolverFallback(solverFallback);
         controlPanelService.setConfig(endpoint, config);
     }
 
@@ -39,4 +91,46 @@ public class ControlPanelController {
     public void resetAllConfigs() {
         controlPanelService.resetAll();
     }
-}
\ No newline at end of file
+
+    @GetMapping("/logging")
+    public Map<String, Object> getLoggingConfig() {
+        return Map.of(
+                "async", requestLog.isAsync(),
+                "sampleEvery", requestLog.getSampleEvery(),
+                "budgetPerSecond", requestLog.getBudgetPerSecond(),
+                "accessLog", requestLog.isAccessLogEnabled()
+        );
+    }
+
+    @PostMapping("/logging")
+    public void setLoggingConfig(
+            @RequestParam(defaultValue = "true") boolean async,
+            @RequestParam(defaultValue = "1") int sampleEvery,
+            @RequestParam(defaultValue = "0") int budgetPerSecond,
+            @RequestParam(defaultValue = "false") boolean accessLog) {
+        requestLog.configure(async, sampleEvery, budgetPerSecond, accessLog);
+    }
+
+    @GetMapping("/generation")
+    public Map<String, Object> getGenerationLimits() {
+        return Map.of(
+                "maxDepth", RandomData.getMaxDepth(),
+                "maxObjects", RandomData.getMaxObjects(),
+                "maxCollectionSizes", RandomData.getMaxCollectionSizes()
+        );
+    }
+
+    @PostMapping("/generation")
+    public void setGenerationLimits(
+            @RequestParam int maxDepth,
+            @RequestParam int maxObjects,
+            @RequestParam int[] maxCollectionSizes) {
+        RandomData.configure(maxDepth, maxObjects, maxCollectionSizes);
+    }
+
+    // Бюджет итераций ограничен в SerializationBenchmark.MAX_ITERATIONS, замер нагружает процессор сервиса
+    @PostMapping("/benchmark/serialization")
+    public Map<String, Object> benchmarkSerialization(@RequestParam(defaultValue = "100000") int iterations) {
+        return serializationBenchmark.run(iterations);
+    }
+}
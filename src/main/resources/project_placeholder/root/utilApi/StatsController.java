@@ -2,6 +2,7 @@ package org.openapitools.utilApi;
 
 import lombok.RequiredArgsConstructor;
 import org.openapitools.service.RequestCounterService;
+import org.openapitools.util.SolutionPool;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,6 +19,16 @@ public class StatsController {
         return counterService.getCounts();
     }
 
+    @GetMapping("/stats/solver-budget")
+    public Map<String, Long> getSolverBudgetStats() {
+        return counterService.getSolverBudgetExhaustions();
+    }
+
+    @GetMapping("/stats/solution-cache")
+    public Map<String, SolutionPool.Stats> getSolutionCacheStats() {
+        return SolutionPool.stats();
+    }
+
     @PostMapping("/stats/reset")
     public void resetStats() {
         counterService.reset();
@@ -0,0 +1,85 @@
+package com.nvp.orchestrator.service.implementation.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiInterfaceScannerTest {
+
+    private static final String PACKAGE_NAME = ApiInterfaceScannerTest.class.getPackageName();
+
+    @TempDir
+    Path packageDirectory;
+
+    @Test
+    void findsOnlyInterfaces() throws IOException {
+        copyClassFiles(PlainApi.class, ConstantsApi.class, ClassApi.class, AnnotationApi.class, Helper.class);
+
+        List<Class<?>> found = ApiInterfaceScanner.scan(packageDirectory, PACKAGE_NAME, getClass().getClassLoader());
+
+        assertThat(found).containsExactlyInAnyOrder(PlainApi.class, ConstantsApi.class);
+    }
+
+    @Test
+    void skipsLongAndDoubleConstantsInConstantPool() throws IOException {
+        copyClassFiles(ConstantsApi.class);
+
+        List<Class<?>> found = ApiInterfaceScanner.scan(packageDirectory, PACKAGE_NAME, getClass().getClassLoader());
+
+        assertThat(found).containsExactly(ConstantsApi.class);
+    }
+
+    @Test
+    void ignoresFilesWithoutClassFileMagic() throws IOException {
+        Files.write(packageDirectory.resolve("BrokenApi.class"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        List<Class<?>> found = ApiInterfaceScanner.scan(packageDirectory, PACKAGE_NAME, getClass().getClassLoader());
+
+        assertThat(found).isEmpty();
+    }
+
+    // Вложенные типы компилируются в ApiInterfaceScannerTest$<Name>.class, поэтому имена на Api подходят сканеру
+    private void copyClassFiles(Class<?>... types) throws IOException {
+        for (Class<?> type : types) {
+            String fileName = type.getName().substring(PACKAGE_NAME.length() + 1) + ".class";
+            try (InputStream in = type.getResourceAsStream(fileName)) {
+                assertThat(in).as(fileName).isNotNull();
+                Files.copy(in, packageDirectory.resolve(fileName));
+            }
+        }
+    }
+
+    interface PlainApi {
+        void get();
+    }
+
+    interface ConstantsApi {
+        long BIG = 1L << 40;
+        double RATIO = 0.125;
+        long SMALL = 7L;
+        String NAME = "constants";
+
+        double scale(double value);
+    }
+
+    static class ClassApi {
+        static final long LIMIT = 1L << 33;
+        static final double FACTOR = 2.5;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface AnnotationApi {
+    }
+
+    interface Helper {
+    }
+}